@@ -5,15 +5,20 @@ import static java.util.Optional.ofNullable;
 
 import io.getunleash.event.EventDispatcher;
 import io.getunleash.event.ToggleEvaluated;
+import io.getunleash.event.UnleashEventType;
 import io.getunleash.lang.Nullable;
+import io.getunleash.metric.ToggleMetricsSlot;
 import io.getunleash.metric.UnleashMetricService;
 import io.getunleash.metric.UnleashMetricServiceImpl;
+import io.getunleash.repository.FeatureEvaluationPlan;
 import io.getunleash.repository.FeatureRepository;
 import io.getunleash.strategy.*;
 import io.getunleash.util.ConstraintMerger;
+import io.getunleash.util.RandomSource;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.variant.VariantUtil;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -40,6 +45,10 @@ public class DefaultUnleash implements Unleash {
     private final UnleashContextProvider contextProvider;
     private final EventDispatcher eventDispatcher;
     private final UnleashConfig config;
+    // Whether the repository compiles its plans with the strategies of this client
+    private final boolean repositoryPlans;
+    // Plans of toggles the repository has no plans for, valid while the toggle stays the same
+    private final Map<String, FeatureEvaluationPlan> compiledPlans = new ConcurrentHashMap<>();
 
     private static FeatureRepository defaultToggleRepository(UnleashConfig unleashConfig) {
         return new FeatureRepository(unleashConfig);
@@ -56,7 +65,7 @@ public class DefaultUnleash implements Unleash {
         this(
                 unleashConfig,
                 featureRepository,
-                buildStrategyMap(strategies),
+                buildStrategyMap(unleashConfig, strategies),
                 unleashConfig.getContextProvider(),
                 new EventDispatcher(unleashConfig),
                 new UnleashMetricServiceImpl(unleashConfig, unleashConfig.getScheduledExecutor()));
@@ -77,6 +86,7 @@ public class DefaultUnleash implements Unleash {
         this.eventDispatcher = eventDispatcher;
         this.metricService = metricService;
         metricService.register(strategyMap.keySet());
+        this.repositoryPlans = featureRepository.registerStrategies(this::getStrategy);
     }
 
     @Override
@@ -107,49 +117,76 @@ public class DefaultUnleash implements Unleash {
             String toggleName,
             UnleashContext context,
             BiFunction<String, UnleashContext, Boolean> fallbackAction) {
-        boolean enabled = checkEnabled(toggleName, context, fallbackAction);
-        count(toggleName, enabled);
-        eventDispatcher.dispatch(new ToggleEvaluated(toggleName, enabled));
+        checkIfToggleMatchesNamePrefix(toggleName);
+        FeatureEvaluationPlan evaluationPlan = getEvaluationPlan(toggleName);
+        boolean enabled = checkEnabled(toggleName, evaluationPlan, context, fallbackAction);
+        count(evaluationPlan, toggleName, enabled);
+        if (eventDispatcher.isSubscribed(UnleashEventType.TOGGLE_EVALUATED)) {
+            eventDispatcher.dispatch(new ToggleEvaluated(toggleName, enabled));
+        }
         return enabled;
     }
 
     private boolean checkEnabled(
             String toggleName,
+            @Nullable FeatureEvaluationPlan evaluationPlan,
             UnleashContext context,
             BiFunction<String, UnleashContext, Boolean> fallbackAction) {
-        checkIfToggleMatchesNamePrefix(toggleName);
-        FeatureToggle featureToggle = featureRepository.getToggle(toggleName);
-        boolean enabled;
         UnleashContext enhancedContext = context.applyStaticFields(config);
 
+        if (evaluationPlan == null) {
+            return fallbackAction.apply(toggleName, enhancedContext);
+        }
+        return evaluationPlan.isEnabled(enhancedContext);
+    }
+
+    private @Nullable FeatureEvaluationPlan getEvaluationPlan(String toggleName) {
+        if (repositoryPlans) {
+            FeatureEvaluationPlan evaluationPlan =
+                    featureRepository.getEvaluationPlan(toggleName);
+            if (evaluationPlan != null) {
+                return evaluationPlan;
+            }
+        }
+        // Compiled here when the repository has no plan, or one built for another client
+        FeatureToggle featureToggle = featureRepository.getToggle(toggleName);
         if (featureToggle == null) {
-            enabled = fallbackAction.apply(toggleName, enhancedContext);
-        } else if (!featureToggle.isEnabled()) {
-            enabled = false;
-        } else if (featureToggle.getStrategies().size() == 0) {
-            return true;
+            compiledPlans.remove(toggleName);
+            return null;
+        }
+        FeatureEvaluationPlan evaluationPlan = compiledPlans.get(toggleName);
+        if (evaluationPlan == null || evaluationPlan.getFeatureToggle() != featureToggle) {
+            evaluationPlan =
+                    FeatureEvaluationPlan.compile(
+                            featureToggle,
+                            strategy ->
+                                    ConstraintMerger.mergeConstraints(featureRepository, strategy),
+                            this::getStrategy);
+            compiledPlans.put(toggleName, evaluationPlan);
+        }
+        return evaluationPlan;
+    }
+
+    private void count(
+            @Nullable FeatureEvaluationPlan evaluationPlan, String toggleName, boolean enabled) {
+        ToggleMetricsSlot metricsSlot =
+                evaluationPlan != null ? evaluationPlan.getMetricsSlot() : null;
+        if (metricsSlot != null) {
+            metricService.count(metricsSlot, enabled);
         } else {
-            enabled =
-                    featureToggle.getStrategies().stream()
-                            .anyMatch(
-                                    strategy -> {
-                                        Strategy configuredStrategy =
-                                                getStrategy(strategy.getName());
-                                        if (configuredStrategy == UNKNOWN_STRATEGY) {
-                                            LOGGER.warn(
-                                                    "Unable to find matching strategy for toggle:{} strategy:{}",
-                                                    toggleName,
-                                                    strategy.getName());
-                                        }
-
-                                        return configuredStrategy.isEnabled(
-                                                strategy.getParameters(),
-                                                enhancedContext,
-                                                ConstraintMerger.mergeConstraints(
-                                                        featureRepository, strategy));
-                                    });
+            metricService.count(toggleName, enabled);
+        }
+    }
+
+    private void countVariant(
+            @Nullable FeatureEvaluationPlan evaluationPlan, String toggleName, String variantName) {
+        ToggleMetricsSlot metricsSlot =
+                evaluationPlan != null ? evaluationPlan.getMetricsSlot() : null;
+        if (metricsSlot != null) {
+            metricService.countVariant(metricsSlot, variantName);
+        } else {
+            metricService.countVariant(toggleName, variantName);
         }
-        return enabled;
     }
 
     private void checkIfToggleMatchesNamePrefix(String toggleName) {
@@ -170,13 +207,18 @@ public class DefaultUnleash implements Unleash {
 
     @Override
     public Variant getVariant(String toggleName, UnleashContext context, Variant defaultValue) {
-        FeatureToggle featureToggle = featureRepository.getToggle(toggleName);
-        boolean enabled = checkEnabled(toggleName, context, (n, c) -> false);
+        checkIfToggleMatchesNamePrefix(toggleName);
+        FeatureEvaluationPlan evaluationPlan = getEvaluationPlan(toggleName);
+        boolean enabled = checkEnabled(toggleName, evaluationPlan, context, (n, c) -> false);
         Variant variant =
-                enabled
-                        ? VariantUtil.selectVariant(featureToggle, context, defaultValue)
+                enabled && evaluationPlan != null
+                        ? VariantUtil.selectVariant(
+                                evaluationPlan.getVariants(),
+                                context,
+                                defaultValue,
+                                config.getRandomSource())
                         : defaultValue;
-        metricService.countVariant(toggleName, variant.getName());
+        countVariant(evaluationPlan, toggleName, variant.getName());
         return variant;
     }
 
@@ -194,6 +236,19 @@ public class DefaultUnleash implements Unleash {
         return ofNullable(featureRepository.getToggle(toggleName));
     }
 
+    /** @return the number of toggle evaluation events this client queued for its subscriber */
+    public long getQueuedEvents() {
+        return eventDispatcher.getQueuedEvents();
+    }
+
+    /**
+     * @return the number of toggle evaluation events this client dropped, according to the
+     *     configured {@link io.getunleash.event.EventOverflowPolicy}, because its queue was full
+     */
+    public long getDroppedEvents() {
+        return eventDispatcher.getDroppedEvents();
+    }
+
     /**
      * Use more().getFeatureToggleNames() instead
      *
@@ -210,11 +265,21 @@ public class DefaultUnleash implements Unleash {
         metricService.count(toggleName, enabled);
     }
 
-    private static Map<String, Strategy> buildStrategyMap(@Nullable Strategy[] strategies) {
+    private static Map<String, Strategy> buildStrategyMap(
+            UnleashConfig unleashConfig, @Nullable Strategy[] strategies) {
         Map<String, Strategy> map = new HashMap<>();
 
         BUILTIN_STRATEGIES.forEach(strategy -> map.put(strategy.getName(), strategy));
 
+        RandomSource randomSource = unleashConfig.getRandomSource();
+        if (randomSource != RandomSource.THREAD_LOCAL) {
+            // The shared built-in instances draw from the default source
+            Strategy randomStrategy = new GradualRolloutRandomStrategy(randomSource);
+            Strategy flexibleRolloutStrategy = new FlexibleRolloutStrategy(randomSource);
+            map.put(randomStrategy.getName(), randomStrategy);
+            map.put(flexibleRolloutStrategy.getName(), flexibleRolloutStrategy);
+        }
+
         if (strategies != null) {
             for (Strategy strategy : strategies) {
                 map.put(strategy.getName(), strategy);
@@ -255,14 +320,22 @@ public class DefaultUnleash implements Unleash {
             return getFeatureToggleNames().stream()
                     .map(
                             toggleName -> {
+                                checkIfToggleMatchesNamePrefix(toggleName);
+                                FeatureEvaluationPlan evaluationPlan =
+                                        getEvaluationPlan(toggleName);
                                 boolean enabled =
-                                        checkEnabled(toggleName, context, (n, c) -> false);
-                                FeatureToggle featureToggle =
-                                        featureRepository.getToggle(toggleName);
+                                        checkEnabled(
+                                                toggleName,
+                                                evaluationPlan,
+                                                context,
+                                                (n, c) -> false);
                                 Variant variant =
-                                        enabled
+                                        enabled && evaluationPlan != null
                                                 ? VariantUtil.selectVariant(
-                                                        featureToggle, context, DISABLED_VARIANT)
+                                                        evaluationPlan.getVariants(),
+                                                        context,
+                                                        DISABLED_VARIANT,
+                                                        config.getRandomSource())
                                                 : DISABLED_VARIANT;
 
                                 return new EvaluatedToggle(toggleName, enabled, variant);
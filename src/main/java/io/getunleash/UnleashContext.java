@@ -9,15 +9,33 @@ import java.util.Map;
 import java.util.Optional;
 
 public class UnleashContext {
-    private final Optional<String> appName;
-    private final Optional<String> environment;
-    private final Optional<String> userId;
-    private final Optional<String> sessionId;
-    private final Optional<String> remoteAddress;
-    private final Optional<ZonedDateTime> currentTime;
+    /** Slot of the appName field, see {@link #get(int)}. */
+    public static final int APP_NAME_SLOT = 0;
+    /** Slot of the environment field, see {@link #get(int)}. */
+    public static final int ENVIRONMENT_SLOT = 1;
+    /** Slot of the userId field, see {@link #get(int)}. */
+    public static final int USER_ID_SLOT = 2;
+    /** Slot of the sessionId field, see {@link #get(int)}. */
+    public static final int SESSION_ID_SLOT = 3;
+    /** Slot of the remoteAddress field, see {@link #get(int)}. */
+    public static final int REMOTE_ADDRESS_SLOT = 4;
+    /** Returned by {@link #slotOf(String)} for names which are looked up in the properties. */
+    public static final int PROPERTY_SLOT = -1;
+
+    private static final int SLOT_COUNT = 5;
+
+    private final String[] slots;
+    @Nullable private final ZonedDateTime currentTime;
 
     private final Map<String, String> properties;
 
+    // When set, appName and environment missing from the slots are read from this config
+    @Nullable private final UnleashConfig staticFields;
+
+    // Last view returned by applyStaticFields, reused while the config stays the same. Racy
+    // publication is fine as views only hold final fields.
+    @Nullable private UnleashContext staticFieldsView;
+
     public UnleashContext(
             String userId, String sessionId, String remoteAddress, Map<String, String> properties) {
         this(null, null, userId, sessionId, remoteAddress, null, properties);
@@ -41,25 +59,83 @@ public class UnleashContext {
             @Nullable String remoteAddress,
             @Nullable ZonedDateTime currentTime,
             Map<String, String> properties) {
-        this.appName = Optional.ofNullable(appName);
-        this.environment = Optional.ofNullable(environment);
-        this.userId = Optional.ofNullable(userId);
-        this.sessionId = Optional.ofNullable(sessionId);
-        this.remoteAddress = Optional.ofNullable(remoteAddress);
-        this.currentTime = Optional.ofNullable(currentTime);
+        this.slots = new String[SLOT_COUNT];
+        this.slots[APP_NAME_SLOT] = appName;
+        this.slots[ENVIRONMENT_SLOT] = environment;
+        this.slots[USER_ID_SLOT] = userId;
+        this.slots[SESSION_ID_SLOT] = sessionId;
+        this.slots[REMOTE_ADDRESS_SLOT] = remoteAddress;
+        this.currentTime = currentTime;
         this.properties = properties;
+        this.staticFields = null;
+    }
+
+    private UnleashContext(UnleashContext context, UnleashConfig staticFields) {
+        this.slots = context.slots;
+        this.currentTime = context.currentTime;
+        this.properties = context.properties;
+        this.staticFields = staticFields;
+    }
+
+    /**
+     * Maps a context field name to the slot holding it. Callers evaluating the same name over and
+     * over should resolve the slot once and use {@link #get(int, String)}.
+     *
+     * @param contextName name of a standard field or a custom property
+     * @return the slot of a standard field, or {@link #PROPERTY_SLOT} for custom properties
+     */
+    public static int slotOf(String contextName) {
+        switch (contextName) {
+            case "appName":
+                return APP_NAME_SLOT;
+            case "environment":
+                return ENVIRONMENT_SLOT;
+            case "userId":
+                return USER_ID_SLOT;
+            case "sessionId":
+                return SESSION_ID_SLOT;
+            case "remoteAddress":
+                return REMOTE_ADDRESS_SLOT;
+            default:
+                return PROPERTY_SLOT;
+        }
+    }
+
+    /**
+     * @param slot one of the standard field slots, e.g. {@link #USER_ID_SLOT}
+     * @return the value of the field, or null if it is not set
+     */
+    public @Nullable String get(int slot) {
+        String value = slots[slot];
+        if (value == null && staticFields != null) {
+            if (slot == APP_NAME_SLOT) {
+                return staticFields.getAppName();
+            } else if (slot == ENVIRONMENT_SLOT) {
+                return staticFields.getEnvironment();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @param slot the slot of the field as returned by {@link #slotOf(String)}
+     * @param contextName the name of the field, used to look up custom properties
+     * @return the value of the field, or null if it is not set
+     */
+    public @Nullable String get(int slot, String contextName) {
+        return slot == PROPERTY_SLOT ? properties.get(contextName) : get(slot);
     }
 
     public Optional<String> getUserId() {
-        return userId;
+        return Optional.ofNullable(get(USER_ID_SLOT));
     }
 
     public Optional<String> getSessionId() {
-        return sessionId;
+        return Optional.ofNullable(get(SESSION_ID_SLOT));
     }
 
     public Optional<String> getRemoteAddress() {
-        return remoteAddress;
+        return Optional.ofNullable(get(REMOTE_ADDRESS_SLOT));
     }
 
     public Map<String, String> getProperties() {
@@ -67,43 +143,41 @@ public class UnleashContext {
     }
 
     public Optional<String> getAppName() {
-        return appName;
+        return Optional.ofNullable(get(APP_NAME_SLOT));
     }
 
     public Optional<String> getEnvironment() {
-        return environment;
+        return Optional.ofNullable(get(ENVIRONMENT_SLOT));
     }
 
     public Optional<ZonedDateTime> getCurrentTime() {
-        return currentTime;
+        return Optional.ofNullable(currentTime);
     }
 
     public Optional<String> getByName(String contextName) {
-        switch (contextName) {
-            case "environment":
-                return environment;
-            case "appName":
-                return appName;
-            case "userId":
-                return userId;
-            case "sessionId":
-                return sessionId;
-            case "remoteAddress":
-                return remoteAddress;
-            default:
-                return Optional.ofNullable(properties.get(contextName));
-        }
+        return Optional.ofNullable(get(slotOf(contextName), contextName));
     }
 
+    /**
+     * Returns a view of this context where a missing appName or environment is read from the
+     * config. Nothing is copied: the view shares this context's fields and properties, and this
+     * context is returned as is when both fields are already set. The view is remembered, so
+     * contexts which are reused across calls are only enriched once per config.
+     *
+     * @param config the config providing appName and environment
+     * @return a context with appName and environment set
+     */
     public UnleashContext applyStaticFields(UnleashConfig config) {
-        Builder builder = new Builder(this);
-        if (!this.environment.isPresent()) {
-            builder.environment(config.getEnvironment());
+        if (staticFields != null
+                || (slots[ENVIRONMENT_SLOT] != null && slots[APP_NAME_SLOT] != null)) {
+            return this;
         }
-        if (!this.appName.isPresent()) {
-            builder.appName(config.getAppName());
+        UnleashContext view = staticFieldsView;
+        if (view == null || view.staticFields != config) {
+            view = new UnleashContext(this, config);
+            staticFieldsView = view;
         }
-        return builder.build();
+        return view;
     }
 
     public static Builder builder() {
@@ -123,13 +197,13 @@ public class UnleashContext {
         public Builder() {}
 
         public Builder(UnleashContext context) {
-            context.appName.ifPresent(val -> this.appName = val);
-            context.environment.ifPresent(val -> this.environment = val);
-            context.userId.ifPresent(val -> this.userId = val);
-            context.sessionId.ifPresent(val -> this.sessionId = val);
-            context.remoteAddress.ifPresent(val -> this.remoteAddress = val);
-            context.currentTime.ifPresent(val -> this.currentTime = val);
-            context.properties.forEach(this.properties::put);
+            this.appName = context.get(APP_NAME_SLOT);
+            this.environment = context.get(ENVIRONMENT_SLOT);
+            this.userId = context.get(USER_ID_SLOT);
+            this.sessionId = context.get(SESSION_ID_SLOT);
+            this.remoteAddress = context.get(REMOTE_ADDRESS_SLOT);
+            this.currentTime = context.currentTime;
+            this.properties.putAll(context.properties);
         }
 
         public Builder appName(String appName) {
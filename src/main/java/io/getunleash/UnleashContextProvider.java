@@ -1,9 +1,27 @@
 package io.getunleash;
 
 public interface UnleashContextProvider {
+    /**
+     * Returning the same context instance across calls is cheaper than building a new one, as
+     * contexts remember the view created when config defaults are applied to them.
+     *
+     * @return the context to evaluate toggles with
+     */
     UnleashContext getContext();
 
+    /**
+     * @return a provider building a new, empty context on every call, which callers may add
+     *     properties to
+     */
     static UnleashContextProvider getDefaultProvider() {
         return () -> UnleashContext.builder().build();
     }
+
+    /**
+     * @param context the context to hand out on every call
+     * @return a provider always returning the given context
+     */
+    static UnleashContextProvider of(UnleashContext context) {
+        return () -> context;
+    }
 }
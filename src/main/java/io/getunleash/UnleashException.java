@@ -1,6 +1,7 @@
 package io.getunleash;
 
 import io.getunleash.event.UnleashEvent;
+import io.getunleash.event.UnleashEventType;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.lang.Nullable;
 
@@ -10,6 +11,11 @@ public class UnleashException extends RuntimeException implements UnleashEvent {
         super(message, cause);
     }
 
+    @Override
+    public UnleashEventType getType() {
+        return UnleashEventType.ERROR;
+    }
+
     @Override
     public void publishTo(UnleashSubscriber unleashSubscriber) {
         unleashSubscriber.onError(this);
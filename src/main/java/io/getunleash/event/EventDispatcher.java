@@ -1,23 +1,205 @@
 package io.getunleash.event;
 
+import io.getunleash.lang.Nullable;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Hands events to the configured {@link UnleashSubscriber} on the scheduled executor. Toggle
+ * evaluations are buffered in a bounded lock-free queue that is drained by a single task at a time,
+ * so dispatching them never allocates more than the event itself and a slow subscriber can at most
+ * cause them to be dropped according to the configured {@link EventOverflowPolicy}. All other
+ * events, such as readiness and errors, are rare and are never dropped; they are delivered ahead
+ * of queued evaluations.
+ */
 public class EventDispatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventDispatcher.class);
 
-    private final UnleashSubscriber unleashSubscriber;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    static final int SAMPLE_RATE = 16;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    // How long BLOCK waits for room before it gives up and drops the event after all
+    private static final long MAX_BLOCK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Nullable private final UnleashSubscriber unleashSubscriber;
+    private final EnumSet<UnleashEventType> subscribedEventTypes;
     private final UnleashScheduledExecutor unleashScheduledExecutor;
+    private final EventOverflowPolicy overflowPolicy;
+    private final EventRingBuffer<UnleashEvent> queue;
+    private final Queue<UnleashEvent> unboundedQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    @Nullable private volatile Thread drainThread;
 
     public EventDispatcher(UnleashConfig unleashConfig) {
         this.unleashSubscriber = unleashConfig.getSubscriber();
+        this.subscribedEventTypes = subscribedEventTypes(unleashSubscriber);
         this.unleashScheduledExecutor = unleashConfig.getScheduledExecutor();
+        EventOverflowPolicy overflowPolicy = unleashConfig.getEventOverflowPolicy();
+        this.overflowPolicy =
+                overflowPolicy != null ? overflowPolicy : EventOverflowPolicy.DROP_NEWEST;
+        // The builder checks the capacity, but a config which was not built by it may lack one
+        int capacity = unleashConfig.getEventQueueCapacity();
+        this.queue = new EventRingBuffer<>(capacity >= 2 ? capacity : DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /** A missing subscriber consumes nothing, one that declares no types consumes everything. */
+    private static EnumSet<UnleashEventType> subscribedEventTypes(
+            @Nullable UnleashSubscriber unleashSubscriber) {
+        if (unleashSubscriber == null) {
+            return EnumSet.noneOf(UnleashEventType.class);
+        }
+        Collection<UnleashEventType> eventTypes = unleashSubscriber.getSubscribedEventTypes();
+        if (eventTypes == null) {
+            return EnumSet.allOf(UnleashEventType.class);
+        }
+        EnumSet<UnleashEventType> subscribedEventTypes = EnumSet.noneOf(UnleashEventType.class);
+        subscribedEventTypes.addAll(eventTypes);
+        return subscribedEventTypes;
+    }
+
+    /**
+     * Whether the subscriber consumes events of the given type. Callers on hot paths check this
+     * before creating an event.
+     */
+    public boolean isSubscribed(UnleashEventType eventType) {
+        return subscribedEventTypes.contains(eventType);
     }
 
     public void dispatch(UnleashEvent unleashEvent) {
-        unleashScheduledExecutor.scheduleOnce(
-                () -> {
-                    unleashSubscriber.on(unleashEvent);
-                    unleashEvent.publishTo(unleashSubscriber);
-                });
+        if (unleashSubscriber == null || !unleashEvent.isRelevantTo(subscribedEventTypes)) {
+            return;
+        }
+        if (unleashEvent.getType() != UnleashEventType.TOGGLE_EVALUATED) {
+            unboundedQueue.add(unleashEvent);
+            queued.increment();
+        } else if (enqueue(unleashEvent)) {
+            queued.increment();
+        } else {
+            dropped.increment();
+        }
+        scheduleDrain();
+    }
+
+    /** Number of events accepted into the queue since this dispatcher was created. */
+    public long getQueuedEvents() {
+        return queued.sum();
+    }
+
+    /**
+     * Number of toggle evaluation events discarded by the overflow policy since this dispatcher was
+     * created.
+     */
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    /** Number of events currently waiting to be delivered. */
+    public int getPendingEvents() {
+        return queue.size() + unboundedQueue.size();
+    }
+
+    private boolean hasPendingEvents() {
+        return queue.size() > 0 || !unboundedQueue.isEmpty();
+    }
+
+    private boolean enqueue(UnleashEvent unleashEvent) {
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                while (!queue.offer(unleashEvent)) {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+                return true;
+            case BLOCK:
+                long deadline = System.nanoTime() + MAX_BLOCK_NANOS;
+                while (!queue.offer(unleashEvent)) {
+                    // The drain may never run: it could be waiting for this very thread, or the
+                    // executor may have refused it, so the wait is bounded
+                    if (drainThread == Thread.currentThread()
+                            || !scheduleDrain()
+                            || System.nanoTime() - deadline >= 0) {
+                        return false;
+                    }
+                    LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                }
+                return true;
+            case SAMPLE:
+                if (queue.size() >= queue.capacity() / 2
+                        && sampleCounter.getAndIncrement() % SAMPLE_RATE != 0) {
+                    return false;
+                }
+                return queue.offer(unleashEvent);
+            case DROP_NEWEST:
+            default:
+                return queue.offer(unleashEvent);
+        }
+    }
+
+    /** @return false if the executor refused to run the drain */
+    private boolean scheduleDrain() {
+        if (!hasPendingEvents() || !drainScheduled.compareAndSet(false, true)) {
+            return true;
+        }
+        try {
+            unleashScheduledExecutor.scheduleOnce(this::drain);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            drainScheduled.set(false);
+            LOGGER.warn("Unable to schedule delivery of unleash events", ex);
+            return false;
+        }
+    }
+
+    private void drain() {
+        Thread previousDrainThread = drainThread;
+        drainThread = Thread.currentThread();
+        try {
+            do {
+                UnleashEvent unleashEvent;
+                while ((unleashEvent = nextEvent()) != null) {
+                    deliver(unleashEvent);
+                }
+                drainScheduled.set(false);
+                // A producer may have enqueued after the last poll but before the flag was
+                // cleared; it then saw the flag set and relied on us, so look once more.
+            } while (hasPendingEvents() && drainScheduled.compareAndSet(false, true));
+        } finally {
+            drainThread = previousDrainThread;
+        }
+    }
+
+    private @Nullable UnleashEvent nextEvent() {
+        UnleashEvent unleashEvent = unboundedQueue.poll();
+        return unleashEvent != null ? unleashEvent : queue.poll();
+    }
+
+    private void deliver(UnleashEvent unleashEvent) {
+        UnleashSubscriber unleashSubscriber = this.unleashSubscriber;
+        if (unleashSubscriber == null) {
+            return;
+        }
+        try {
+            unleashSubscriber.on(unleashEvent);
+            unleashEvent.publishTo(unleashSubscriber);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Unleash subscriber failed to handle {}", unleashEvent, ex);
+        }
     }
 }
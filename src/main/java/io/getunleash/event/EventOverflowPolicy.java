@@ -0,0 +1,24 @@
+package io.getunleash.event;
+
+/**
+ * What {@link EventDispatcher} does with a new toggle evaluation event when its bounded queue is
+ * full. Other events are not subject to the policy and are always delivered.
+ */
+public enum EventOverflowPolicy {
+    /** Discard the event being dispatched. */
+    DROP_NEWEST,
+    /** Discard the oldest queued event to make room for the new one. */
+    DROP_OLDEST,
+    /**
+     * Make the dispatching thread wait until there is room, for at most 100 milliseconds, after
+     * which the event is dropped. Events dispatched from a subscriber callback, or while the
+     * executor refuses to deliver events, are dropped right away, since waiting would never make
+     * progress.
+     */
+    BLOCK,
+    /**
+     * Once the queue is half full, only admit every {@value EventDispatcher#SAMPLE_RATE}th event;
+     * events are dropped when the queue is full.
+     */
+    SAMPLE
+}
@@ -1,3 +1,14 @@
 package io.getunleash.event;
 
-public class NoOpSubscriber implements UnleashSubscriber {}
+import java.util.EnumSet;
+
+public class NoOpSubscriber implements UnleashSubscriber {
+
+    @Override
+    public EnumSet<UnleashEventType> getSubscribedEventTypes() {
+        // Only errors are logged; subclasses may override any callback, so they get everything.
+        return getClass() == NoOpSubscriber.class
+                ? EnumSet.of(UnleashEventType.ERROR)
+                : UnleashSubscriber.super.getSubscribedEventTypes();
+    }
+}
@@ -18,6 +18,11 @@ public class ToggleEvaluated implements UnleashEvent {
         return enabled;
     }
 
+    @Override
+    public UnleashEventType getType() {
+        return UnleashEventType.TOGGLE_EVALUATED;
+    }
+
     @Override
     public void publishTo(UnleashSubscriber unleashSubscriber) {
         unleashSubscriber.toggleEvaluated(this);
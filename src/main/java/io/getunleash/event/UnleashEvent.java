@@ -1,6 +1,18 @@
 package io.getunleash.event;
 
+import java.util.Set;
+
 public interface UnleashEvent {
 
+    /** @return the kind of event; events defined outside the client are of type OTHER */
+    default UnleashEventType getType() {
+        return UnleashEventType.OTHER;
+    }
+
+    /** Whether a subscriber consuming {@code eventTypes} has any use for this event. */
+    default boolean isRelevantTo(Set<UnleashEventType> eventTypes) {
+        return eventTypes.contains(getType());
+    }
+
     void publishTo(UnleashSubscriber unleashSubscriber);
 }
@@ -0,0 +1,21 @@
+package io.getunleash.event;
+
+/**
+ * The kinds of {@link UnleashEvent} the client publishes, one per callback on {@link
+ * UnleashSubscriber}, and {@link #OTHER} for events defined by applications.
+ */
+public enum UnleashEventType {
+    READY,
+    TOGGLE_EVALUATED,
+    TOGGLES_FETCHED,
+    CLIENT_METRICS,
+    CLIENT_REGISTERED,
+    TOGGLES_BACKED_UP,
+    TOGGLE_BACKUP_RESTORED,
+    TOGGLES_BOOTSTRAPPED,
+    FEATURES_BACKED_UP,
+    FEATURES_BACKUP_RESTORED,
+    FEATURES_BOOTSTRAPPED,
+    ERROR,
+    OTHER
+}
@@ -2,6 +2,11 @@ package io.getunleash.event;
 
 public class UnleashReady implements UnleashEvent {
 
+    @Override
+    public UnleashEventType getType() {
+        return UnleashEventType.READY;
+    }
+
     @Override
     public void publishTo(UnleashSubscriber unleashSubscriber) {
         unleashSubscriber.onReady(this);
@@ -6,10 +6,20 @@ import io.getunleash.metric.ClientRegistration;
 import io.getunleash.repository.FeatureCollection;
 import io.getunleash.repository.FeatureToggleResponse;
 import io.getunleash.repository.ToggleCollection;
+import java.util.EnumSet;
 import org.slf4j.LoggerFactory;
 
 public interface UnleashSubscriber {
 
+    /**
+     * The event types this subscriber consumes. Events of other types are not delivered, neither to
+     * their callback nor to {@link #on(UnleashEvent)}, and the client avoids creating them when no
+     * one listens. The set is read once, when the client is created.
+     */
+    default EnumSet<UnleashEventType> getSubscribedEventTypes() {
+        return EnumSet.allOf(UnleashEventType.class);
+    }
+
     default void onError(UnleashException unleashException) {
         LoggerFactory.getLogger(UnleashSubscriber.class)
                 .warn(unleashException.getMessage(), unleashException);
@@ -1,6 +1,7 @@
 package io.getunleash.metric;
 
 import io.getunleash.event.UnleashEvent;
+import io.getunleash.event.UnleashEventType;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.util.UnleashConfig;
 
@@ -34,6 +35,11 @@ public class ClientMetrics implements UnleashEvent {
         return environment;
     }
 
+    @Override
+    public UnleashEventType getType() {
+        return UnleashEventType.CLIENT_METRICS;
+    }
+
     @Override
     public void publishTo(UnleashSubscriber unleashSubscriber) {
         unleashSubscriber.clientMetrics(this);
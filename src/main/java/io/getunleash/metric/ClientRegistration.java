@@ -1,14 +1,18 @@
 package io.getunleash.metric;
 
 import io.getunleash.event.UnleashEvent;
+import io.getunleash.event.UnleashEventType;
 import io.getunleash.event.UnleashSubscriber;
+import io.getunleash.lang.Nullable;
 import io.getunleash.util.UnleashConfig;
 import java.time.LocalDateTime;
 import java.util.Set;
 
 public class ClientRegistration implements UnleashEvent {
     private final String appName;
-    private final String instanceId;
+    // Resolved when the registration is sent, since the default id waits for the host name
+    @Nullable private volatile String instanceId;
+    private final transient UnleashConfig config;
     private final String sdkVersion;
     private final Set<String> strategies;
     private final LocalDateTime started;
@@ -18,7 +22,7 @@ public class ClientRegistration implements UnleashEvent {
     ClientRegistration(UnleashConfig config, LocalDateTime started, Set<String> strategies) {
         this.environment = config.getEnvironment();
         this.appName = config.getAppName();
-        this.instanceId = config.getInstanceId();
+        this.config = config;
         this.sdkVersion = config.getSdkVersion();
         this.started = started;
         this.strategies = strategies;
@@ -30,6 +34,11 @@ public class ClientRegistration implements UnleashEvent {
     }
 
     public String getInstanceId() {
+        String instanceId = this.instanceId;
+        if (instanceId == null) {
+            instanceId = config.getInstanceId();
+            this.instanceId = instanceId;
+        }
         return instanceId;
     }
 
@@ -53,6 +62,11 @@ public class ClientRegistration implements UnleashEvent {
         return environment;
     }
 
+    @Override
+    public UnleashEventType getType() {
+        return UnleashEventType.CLIENT_REGISTERED;
+    }
+
     @Override
     public void publishTo(UnleashSubscriber unleashSubscriber) {
         unleashSubscriber.clientRegistered(this);
@@ -64,7 +78,7 @@ public class ClientRegistration implements UnleashEvent {
                 + " appName="
                 + appName
                 + " instanceId="
-                + instanceId
+                + getInstanceId()
                 + " sdkVersion="
                 + sdkVersion
                 + " started="
@@ -6,11 +6,24 @@ import java.time.ZoneId;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
 
 class MetricsBucket {
+    private static final int STRIPES =
+            Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 1);
+    // Only every PADDINGth element of inFlight is used, keeping stripes on separate cache lines
+    private static final int PADDING = 16;
+
     private final ConcurrentMap<String, ToggleCount> toggles;
     private final LocalDateTime start;
     @Nullable private volatile LocalDateTime stop;
+    // Counts of toggles known to the layout the bucket was first counted with, by ordinal
+    private final transient AtomicReference<Slots> slots = new AtomicReference<>();
+    // Writers currently counting into this bucket, striped by thread
+    private final transient AtomicLongArray inFlight = new AtomicLongArray(STRIPES * PADDING);
 
     MetricsBucket() {
         this.start = LocalDateTime.now(ZoneId.of("UTC"));
@@ -25,12 +38,107 @@ class MetricsBucket {
         getOrCreate(toggleName).register(variantName);
     }
 
+    void registerCount(ToggleMetricsSlot slot, boolean active) {
+        ToggleCount toggleCount = getSlotCount(slot);
+        if (toggleCount != null) {
+            toggleCount.register(active);
+        } else {
+            registerCount(slot.getToggleName(), active);
+        }
+    }
+
+    void registerCount(ToggleMetricsSlot slot, String variantName) {
+        ToggleCount toggleCount = getSlotCount(slot);
+        if (toggleCount != null) {
+            toggleCount.register(slot.getVariantOrdinal(variantName), variantName);
+        } else {
+            registerCount(slot.getToggleName(), variantName);
+        }
+    }
+
     private ToggleCount getOrCreate(String toggleName) {
-        return toggles.computeIfAbsent(toggleName, s -> new ToggleCount());
+        // computeIfAbsent locks the bin even when the key is present, so look it up first.
+        ToggleCount toggleCount = toggles.get(toggleName);
+        if (toggleCount == null) {
+            toggleCount = toggles.computeIfAbsent(toggleName, s -> new ToggleCount());
+        }
+        return toggleCount;
+    }
+
+    /** @return the count of the slot, or null if this bucket counts a different layout */
+    private @Nullable ToggleCount getSlotCount(ToggleMetricsSlot slot) {
+        Slots current = slots.get();
+        if (current == null) {
+            slots.compareAndSet(null, new Slots(slot.getLayout()));
+            current = slots.get();
+        }
+        if (current.layout != slot.getLayout()) {
+            return null;
+        }
+        int ordinal = slot.getOrdinal();
+        ToggleCount toggleCount = current.counts.get(ordinal);
+        if (toggleCount == null) {
+            ToggleCount created = new ToggleCount(current.layout.getVariantNames(ordinal));
+            toggleCount =
+                    current.counts.compareAndSet(ordinal, null, created)
+                            ? created
+                            : current.counts.get(ordinal);
+        }
+        return toggleCount;
+    }
+
+    /** @return the in-flight stripe of the calling thread */
+    static int currentStripe() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & (STRIPES - 1);
+    }
+
+    /**
+     * Announces a writer on the given stripe. The writer must then check that the bucket is still
+     * current before counting, and call {@link #exit(int)} with the same stripe when done.
+     */
+    void enter(int stripe) {
+        inFlight.incrementAndGet(stripe * PADDING);
+    }
+
+    void exit(int stripe) {
+        inFlight.decrementAndGet(stripe * PADDING);
+    }
+
+    /**
+     * Waits for the writers that entered the bucket before it was replaced. Writers entering
+     * afterwards see the new bucket and leave, so this does not wait for long.
+     */
+    void awaitWriters() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            int spins = 0;
+            while (inFlight.get(stripe * PADDING) != 0) {
+                if (++spins < 100) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(10_000);
+                }
+            }
+        }
     }
 
     void end() {
         this.stop = LocalDateTime.now(ZoneId.of("UTC"));
+        Slots current = slots.get();
+        if (current != null) {
+            for (int i = 0; i < current.counts.length(); i++) {
+                ToggleCount toggleCount = current.counts.get(i);
+                if (toggleCount == null) {
+                    continue;
+                }
+                toggleCount.foldVariantCounts();
+                ToggleCount named =
+                        toggles.putIfAbsent(current.layout.getToggleName(i), toggleCount);
+                if (named != null) {
+                    named.add(toggleCount);
+                }
+            }
+        }
     }
 
     public Map<String, ToggleCount> getToggles() {
@@ -44,4 +152,14 @@ class MetricsBucket {
     public @Nullable LocalDateTime getStop() {
         return stop;
     }
+
+    private static final class Slots {
+        private final MetricsLayout layout;
+        private final AtomicReferenceArray<ToggleCount> counts;
+
+        private Slots(MetricsLayout layout) {
+            this.layout = layout;
+            this.counts = new AtomicReferenceArray<>(layout.size());
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package io.getunleash.metric;
+
+import io.getunleash.FeatureToggle;
+import io.getunleash.variant.VariantDefinition;
+import java.util.List;
+
+/**
+ * Assigns an ordinal to every toggle, and to every variant of a toggle, of one feature snapshot.
+ * Metrics buckets created for a layout count into arrays indexed by those ordinals and only resolve
+ * the names when the bucket is sent.
+ */
+public final class MetricsLayout {
+    private final String[] toggleNames;
+    private final String[][] variantNames;
+    private final ToggleMetricsSlot[] slots;
+
+    public MetricsLayout(List<FeatureToggle> toggles) {
+        int size = toggles.size();
+        this.toggleNames = new String[size];
+        this.variantNames = new String[size][];
+        this.slots = new ToggleMetricsSlot[size];
+        for (int i = 0; i < size; i++) {
+            FeatureToggle toggle = toggles.get(i);
+            List<VariantDefinition> variants = toggle.getVariants();
+            toggleNames[i] = toggle.getName();
+            variantNames[i] = new String[variants.size()];
+            for (int j = 0; j < variants.size(); j++) {
+                variantNames[i][j] = variants.get(j).getName();
+            }
+            slots[i] = new ToggleMetricsSlot(this, i);
+        }
+    }
+
+    /** @return the slot of the toggle at the given position in the list the layout was built of */
+    public ToggleMetricsSlot getSlot(int ordinal) {
+        return slots[ordinal];
+    }
+
+    int size() {
+        return toggleNames.length;
+    }
+
+    String getToggleName(int ordinal) {
+        return toggleNames[ordinal];
+    }
+
+    String[] getVariantNames(int ordinal) {
+        return variantNames[ordinal];
+    }
+}
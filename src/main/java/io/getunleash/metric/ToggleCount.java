@@ -1,40 +1,95 @@
 package io.getunleash.metric;
 
+import io.getunleash.lang.Nullable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Evaluation counts for one toggle. The counters are {@link LongAdder}s, which spread contended
+ * increments over padded cells instead of retrying a CAS on a single shared value.
+ */
 class ToggleCount {
-    private final AtomicLong yes;
-    private final AtomicLong no;
-    private final ConcurrentMap<String, AtomicLong> variants;
+    private final LongAdder yes;
+    private final LongAdder no;
+    private final ConcurrentMap<String, LongAdder> variants;
+    // Counters of the variants known to the layout, folded into variants when the bucket ends
+    @Nullable private final transient String[] variantNames;
+    @Nullable private final transient LongAdder[] variantCounts;
 
     public ToggleCount() {
-        this.yes = new AtomicLong(0);
-        this.no = new AtomicLong(0);
+        this.yes = new LongAdder();
+        this.no = new LongAdder();
         this.variants = new ConcurrentHashMap<>();
+        this.variantNames = null;
+        this.variantCounts = null;
+    }
+
+    ToggleCount(String[] variantNames) {
+        this.yes = new LongAdder();
+        this.no = new LongAdder();
+        this.variants = new ConcurrentHashMap<>();
+        this.variantNames = variantNames;
+        this.variantCounts = new LongAdder[variantNames.length];
+        for (int i = 0; i < variantNames.length; i++) {
+            variantCounts[i] = new LongAdder();
+        }
     }
 
     public void register(boolean active) {
         if (active) {
-            yes.incrementAndGet();
+            yes.increment();
         } else {
-            no.incrementAndGet();
+            no.increment();
         }
     }
 
     public void register(String variantName) {
-        AtomicLong current = variants.computeIfAbsent(variantName, s -> new AtomicLong());
-        current.incrementAndGet();
+        variantCount(variantName).increment();
+    }
+
+    void register(int variantOrdinal, String variantName) {
+        if (variantCounts != null && variantOrdinal >= 0) {
+            variantCounts[variantOrdinal].increment();
+        } else {
+            register(variantName);
+        }
+    }
+
+    private LongAdder variantCount(String variantName) {
+        LongAdder current = variants.get(variantName);
+        if (current == null) {
+            current = variants.computeIfAbsent(variantName, s -> new LongAdder());
+        }
+        return current;
+    }
+
+    /** Moves the counts kept by variant ordinal to the named variants. */
+    void foldVariantCounts() {
+        if (variantNames == null || variantCounts == null) {
+            return;
+        }
+        for (int i = 0; i < variantCounts.length; i++) {
+            long count = variantCounts[i].sumThenReset();
+            if (count > 0) {
+                variantCount(variantNames[i]).add(count);
+            }
+        }
+    }
+
+    void add(ToggleCount other) {
+        yes.add(other.getYes());
+        no.add(other.getNo());
+        other.variants.forEach((name, count) -> variantCount(name).add(count.sum()));
     }
 
     public long getYes() {
-        return yes.get();
+        return yes.sum();
     }
 
     public long getNo() {
-        return no.get();
+        return no.sum();
     }
 
     public Map<String, ? extends Number> getVariants() {
@@ -0,0 +1,41 @@
+package io.getunleash.metric;
+
+/** The position of one toggle in a {@link MetricsLayout}. */
+public final class ToggleMetricsSlot {
+    private final MetricsLayout layout;
+    private final int ordinal;
+
+    ToggleMetricsSlot(MetricsLayout layout, int ordinal) {
+        this.layout = layout;
+        this.ordinal = ordinal;
+    }
+
+    MetricsLayout getLayout() {
+        return layout;
+    }
+
+    int getOrdinal() {
+        return ordinal;
+    }
+
+    public String getToggleName() {
+        return layout.getToggleName(ordinal);
+    }
+
+    /** @return the ordinal of the variant, or -1 if it is not one of the toggle's variants */
+    int getVariantOrdinal(String variantName) {
+        String[] variantNames = layout.getVariantNames(ordinal);
+        // Selected variants carry the name instance of their definition, so identity usually hits
+        for (int i = 0; i < variantNames.length; i++) {
+            if (variantNames[i] == variantName) {
+                return i;
+            }
+        }
+        for (int i = 0; i < variantNames.length; i++) {
+            if (variantNames[i].equals(variantName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -8,4 +8,13 @@ public interface UnleashMetricService {
     void count(String toggleName, boolean active);
 
     void countVariant(String toggleName, String variantName);
+
+    /** Counts an evaluation of the toggle at a slot assigned when its snapshot was installed. */
+    default void count(ToggleMetricsSlot slot, boolean active) {
+        count(slot.getToggleName(), active);
+    }
+
+    default void countVariant(ToggleMetricsSlot slot, String variantName) {
+        countVariant(slot.getToggleName(), variantName);
+    }
 }
@@ -42,18 +42,71 @@ public class UnleashMetricServiceImpl implements UnleashMetricService {
 
     @Override
     public void count(String toggleName, boolean active) {
-        currentMetricsBucket.registerCount(toggleName, active);
+        int stripe = MetricsBucket.currentStripe();
+        MetricsBucket bucket = enterCurrentBucket(stripe);
+        try {
+            bucket.registerCount(toggleName, active);
+        } finally {
+            bucket.exit(stripe);
+        }
     }
 
     @Override
     public void countVariant(String toggleName, String variantName) {
-        currentMetricsBucket.registerCount(toggleName, variantName);
+        int stripe = MetricsBucket.currentStripe();
+        MetricsBucket bucket = enterCurrentBucket(stripe);
+        try {
+            bucket.registerCount(toggleName, variantName);
+        } finally {
+            bucket.exit(stripe);
+        }
+    }
+
+    @Override
+    public void count(ToggleMetricsSlot slot, boolean active) {
+        int stripe = MetricsBucket.currentStripe();
+        MetricsBucket bucket = enterCurrentBucket(stripe);
+        try {
+            bucket.registerCount(slot, active);
+        } finally {
+            bucket.exit(stripe);
+        }
+    }
+
+    @Override
+    public void countVariant(ToggleMetricsSlot slot, String variantName) {
+        int stripe = MetricsBucket.currentStripe();
+        MetricsBucket bucket = enterCurrentBucket(stripe);
+        try {
+            bucket.registerCount(slot, variantName);
+        } finally {
+            bucket.exit(stripe);
+        }
+    }
+
+    /**
+     * Enters the current bucket and re-checks it is still current. A writer that passes the check
+     * entered before the sender swapped the bucket, so the sender's {@link
+     * MetricsBucket#awaitWriters()} waits for it; otherwise it retries on the new bucket.
+     */
+    private MetricsBucket enterCurrentBucket(int stripe) {
+        MetricsBucket bucket = currentMetricsBucket;
+        for (; ; ) {
+            bucket.enter(stripe);
+            MetricsBucket current = currentMetricsBucket;
+            if (current == bucket) {
+                return bucket;
+            }
+            bucket.exit(stripe);
+            bucket = current;
+        }
     }
 
     private Runnable sendMetrics() {
         return () -> {
             MetricsBucket metricsBucket = this.currentMetricsBucket;
             this.currentMetricsBucket = new MetricsBucket();
+            metricsBucket.awaitWriters();
             metricsBucket.end();
             ClientMetrics metrics = new ClientMetrics(unleashConfig, metricsBucket);
             unleashMetricsSender.sendMetrics(metrics);
@@ -14,7 +14,7 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class UnleashMetricsSender {
     private static final int CONNECT_TIMEOUT = 1000;
@@ -35,7 +35,7 @@ public class UnleashMetricsSender {
         this.gson =
                 new GsonBuilder()
                         .registerTypeAdapter(LocalDateTime.class, new DateTimeSerializer())
-                        .registerTypeAdapter(AtomicLong.class, new AtomicLongSerializer())
+                        .registerTypeAdapter(LongAdder.class, new LongAdderSerializer())
                         .create();
     }
 
@@ -49,18 +49,20 @@ public class UnleashMetricsSender {
         }
     }
 
-    static class AtomicLongSerializer implements JsonSerializer<AtomicLong> {
+    static class LongAdderSerializer implements JsonSerializer<LongAdder> {
 
         @Override
         public JsonElement serialize(
-                AtomicLong src, Type typeOfSrc, JsonSerializationContext context) {
-            return new JsonPrimitive(src.get());
+                LongAdder src, Type typeOfSrc, JsonSerializationContext context) {
+            return new JsonPrimitive(src.sum());
         }
     }
 
     public void registerClient(ClientRegistration registration) {
         if (!unleashConfig.isDisableMetrics()) {
             try {
+                // The id is part of the posted body, so it is resolved before serializing
+                registration.getInstanceId();
                 post(clientRegistrationURL, registration);
                 eventDispatcher.dispatch(registration);
             } catch (UnleashException ex) {
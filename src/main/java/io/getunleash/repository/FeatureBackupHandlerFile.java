@@ -4,6 +4,7 @@ import com.google.gson.JsonParseException;
 import io.getunleash.UnleashException;
 import io.getunleash.event.EventDispatcher;
 import io.getunleash.event.UnleashEvent;
+import io.getunleash.event.UnleashEventType;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.util.UnleashConfig;
 import java.io.*;
@@ -66,6 +67,11 @@ public class FeatureBackupHandlerFile implements BackupHandler<FeatureCollection
             this.featureCollection = featureCollection;
         }
 
+        @Override
+        public UnleashEventType getType() {
+            return UnleashEventType.FEATURES_BACKUP_RESTORED;
+        }
+
         @Override
         public void publishTo(UnleashSubscriber unleashSubscriber) {
             unleashSubscriber.featuresBackupRestored(featureCollection);
@@ -80,6 +86,11 @@ public class FeatureBackupHandlerFile implements BackupHandler<FeatureCollection
             this.featureCollection = featureCollection;
         }
 
+        @Override
+        public UnleashEventType getType() {
+            return UnleashEventType.FEATURES_BACKED_UP;
+        }
+
         @Override
         public void publishTo(UnleashSubscriber unleashSubscriber) {
             unleashSubscriber.featuresBackedUp(featureCollection);
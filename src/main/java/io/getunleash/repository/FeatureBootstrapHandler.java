@@ -4,6 +4,7 @@ import com.google.gson.JsonSyntaxException;
 import io.getunleash.UnleashException;
 import io.getunleash.event.EventDispatcher;
 import io.getunleash.event.UnleashEvent;
+import io.getunleash.event.UnleashEventType;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.lang.Nullable;
 import io.getunleash.util.UnleashConfig;
@@ -55,6 +56,11 @@ public class FeatureBootstrapHandler {
             this.featureCollection = featureCollection;
         }
 
+        @Override
+        public UnleashEventType getType() {
+            return UnleashEventType.FEATURES_BOOTSTRAPPED;
+        }
+
         @Override
         public void publishTo(UnleashSubscriber unleashSubscriber) {
             unleashSubscriber.featuresBootstrapped(featureCollection);
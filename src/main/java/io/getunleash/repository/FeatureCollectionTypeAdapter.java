@@ -0,0 +1,461 @@
+package io.getunleash.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.getunleash.ActivationStrategy;
+import io.getunleash.Constraint;
+import io.getunleash.FeatureToggle;
+import io.getunleash.Operator;
+import io.getunleash.Segment;
+import io.getunleash.lang.Nullable;
+import io.getunleash.variant.Payload;
+import io.getunleash.variant.VariantDefinition;
+import io.getunleash.variant.VariantOverride;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a {@link FeatureCollection} straight from the token stream into the model objects, without
+ * building an intermediate tree or going through reflection. It accepts what the reflective
+ * deserializer accepted: unknown fields are skipped, scalar parameter values become strings,
+ * unknown operators become null and a payload without {@code features} reads as null.
+ */
+final class FeatureCollectionTypeAdapter extends TypeAdapter<FeatureCollection> {
+
+    static final TypeAdapterFactory FACTORY =
+            new TypeAdapterFactory() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <T> @Nullable TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+                    if (type.getRawType() != FeatureCollection.class) {
+                        return null;
+                    }
+                    return (TypeAdapter<T>) new FeatureCollectionTypeAdapter(gson);
+                }
+            };
+
+    private static final TypeToken<Collection<FeatureToggle>> TOGGLE_COLLECTION_TYPE =
+            new TypeToken<Collection<FeatureToggle>>() {};
+    private static final TypeToken<Collection<Segment>> SEGMENT_COLLECTION_TYPE =
+            new TypeToken<Collection<Segment>>() {};
+
+    private static final Map<String, Operator> OPERATORS = new HashMap<>();
+
+    static {
+        for (Operator operator : Operator.values()) {
+            OPERATORS.put(operator.name(), operator);
+        }
+    }
+
+    private final Gson gson;
+
+    private FeatureCollectionTypeAdapter(Gson gson) {
+        this.gson = gson;
+    }
+
+    @Override
+    public void write(JsonWriter out, @Nullable FeatureCollection featureCollection)
+            throws IOException {
+        if (featureCollection == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("version").value(2);
+        out.name("features");
+        gson.getAdapter(TOGGLE_COLLECTION_TYPE)
+                .write(out, featureCollection.getToggleCollection().getFeatures());
+        out.name("segments");
+        gson.getAdapter(SEGMENT_COLLECTION_TYPE)
+                .write(out, featureCollection.getSegmentCollection().getSegments());
+        out.endObject();
+    }
+
+    @Override
+    public @Nullable FeatureCollection read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<FeatureToggle> toggles = null;
+        List<Segment> segments = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "features":
+                    toggles = readFeatures(in);
+                    break;
+                case "segments":
+                    segments = readSegments(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        if (toggles == null) {
+            return null;
+        }
+        return new FeatureCollection(
+                new ToggleCollection(toggles),
+                new SegmentCollection(segments != null ? segments : Collections.emptyList()));
+    }
+
+    private static List<FeatureToggle> readFeatures(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return Collections.emptyList();
+        }
+        List<FeatureToggle> toggles = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            toggles.add(readFeature(in));
+        }
+        in.endArray();
+        return toggles;
+    }
+
+    private static FeatureToggle readFeature(JsonReader in) throws IOException {
+        String name = null;
+        boolean enabled = false;
+        List<ActivationStrategy> strategies = Collections.emptyList();
+        List<VariantDefinition> variants = Collections.emptyList();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    name = readString(in);
+                    break;
+                case "enabled":
+                    enabled = readBoolean(in);
+                    break;
+                case "strategies":
+                    strategies = readStrategies(in);
+                    break;
+                case "variants":
+                    variants = readVariants(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new FeatureToggle(name, enabled, strategies, variants);
+    }
+
+    private static List<ActivationStrategy> readStrategies(JsonReader in) throws IOException {
+        if (!beginArray(in)) {
+            return Collections.emptyList();
+        }
+        List<ActivationStrategy> strategies = new ArrayList<>(1);
+        while (in.hasNext()) {
+            strategies.add(readStrategy(in));
+        }
+        in.endArray();
+        return strategies;
+    }
+
+    private static ActivationStrategy readStrategy(JsonReader in) throws IOException {
+        String name = null;
+        Map<String, String> parameters = null;
+        List<Constraint> constraints = Collections.emptyList();
+        List<Integer> segments = Collections.emptyList();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    name = readString(in);
+                    break;
+                case "parameters":
+                    parameters = readParameters(in);
+                    break;
+                case "constraints":
+                    constraints = readConstraints(in);
+                    break;
+                case "segments":
+                    segments = readSegmentIds(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new ActivationStrategy(name, parameters, constraints, segments);
+    }
+
+    private static @Nullable Map<String, String> readParameters(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Map<String, String> parameters = new HashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            parameters.put(in.nextName(), readString(in));
+        }
+        in.endObject();
+        return parameters;
+    }
+
+    private static List<Integer> readSegmentIds(JsonReader in) throws IOException {
+        if (!beginArray(in)) {
+            return Collections.emptyList();
+        }
+        List<Integer> segmentIds = new ArrayList<>(1);
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else {
+                segmentIds.add(in.nextInt());
+            }
+        }
+        in.endArray();
+        return segmentIds;
+    }
+
+    private static List<Constraint> readConstraints(JsonReader in) throws IOException {
+        if (!beginArray(in)) {
+            return Collections.emptyList();
+        }
+        List<Constraint> constraints = new ArrayList<>(2);
+        while (in.hasNext()) {
+            constraints.add(readConstraint(in));
+        }
+        in.endArray();
+        return constraints;
+    }
+
+    private static Constraint readConstraint(JsonReader in) throws IOException {
+        String contextName = null;
+        Operator operator = null;
+        String value = null;
+        List<String> values = null;
+        boolean inverted = false;
+        boolean caseInsensitive = false;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "contextName":
+                    contextName = readString(in);
+                    break;
+                case "operator":
+                    operator = readOperator(in);
+                    break;
+                case "value":
+                    value = readString(in);
+                    break;
+                case "values":
+                    values = readStrings(in);
+                    break;
+                case "inverted":
+                    inverted = readBoolean(in);
+                    break;
+                case "caseInsensitive":
+                    caseInsensitive = readBoolean(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new Constraint(contextName, operator, value, values, inverted, caseInsensitive);
+    }
+
+    private static @Nullable Operator readOperator(JsonReader in) throws IOException {
+        String operatorName = readString(in);
+        return operatorName != null ? OPERATORS.get(operatorName) : null;
+    }
+
+    private static List<VariantDefinition> readVariants(JsonReader in) throws IOException {
+        if (!beginArray(in)) {
+            return Collections.emptyList();
+        }
+        List<VariantDefinition> variants = new ArrayList<>();
+        while (in.hasNext()) {
+            variants.add(readVariant(in));
+        }
+        in.endArray();
+        return variants;
+    }
+
+    private static VariantDefinition readVariant(JsonReader in) throws IOException {
+        String name = null;
+        int weight = 0;
+        Payload payload = null;
+        List<VariantOverride> overrides = null;
+        String stickiness = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    name = readString(in);
+                    break;
+                case "weight":
+                    weight = readInt(in);
+                    break;
+                case "payload":
+                    payload = readPayload(in);
+                    break;
+                case "overrides":
+                    overrides = readOverrides(in);
+                    break;
+                case "stickiness":
+                    stickiness = readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new VariantDefinition(name, weight, payload, overrides, stickiness);
+    }
+
+    private static @Nullable Payload readPayload(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String type = null;
+        String value = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "type":
+                    type = readString(in);
+                    break;
+                case "value":
+                    value = readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new Payload(type, value);
+    }
+
+    private static @Nullable List<VariantOverride> readOverrides(JsonReader in)
+            throws IOException {
+        if (!beginArray(in)) {
+            return null;
+        }
+        List<VariantOverride> overrides = new ArrayList<>();
+        while (in.hasNext()) {
+            String contextName = null;
+            List<String> values = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "contextName":
+                        contextName = readString(in);
+                        break;
+                    case "values":
+                        values = readStrings(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            overrides.add(new VariantOverride(contextName, values));
+        }
+        in.endArray();
+        return overrides;
+    }
+
+    private static @Nullable List<Segment> readSegments(JsonReader in) throws IOException {
+        if (!beginArray(in)) {
+            return null;
+        }
+        List<Segment> segments = new ArrayList<>();
+        while (in.hasNext()) {
+            int id = 0;
+            String name = null;
+            List<Constraint> constraints = Collections.emptyList();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        id = readInt(in);
+                        break;
+                    case "name":
+                        name = readString(in);
+                        break;
+                    case "constraints":
+                        constraints = readConstraints(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            segments.add(new Segment(id, name, constraints));
+        }
+        in.endArray();
+        return segments;
+    }
+
+    private static @Nullable List<String> readStrings(JsonReader in) throws IOException {
+        if (!beginArray(in)) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        while (in.hasNext()) {
+            values.add(readString(in));
+        }
+        in.endArray();
+        return values;
+    }
+
+    /** @return false, having consumed the null, if the next value is null rather than an array */
+    private static boolean beginArray(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return false;
+        }
+        in.beginArray();
+        return true;
+    }
+
+    private static @Nullable String readString(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NULL:
+                in.nextNull();
+                return null;
+            case BOOLEAN:
+                return Boolean.toString(in.nextBoolean());
+            default:
+                return in.nextString();
+        }
+    }
+
+    private static boolean readBoolean(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NULL:
+                in.nextNull();
+                return false;
+            case STRING:
+                return Boolean.parseBoolean(in.nextString());
+            default:
+                return in.nextBoolean();
+        }
+    }
+
+    private static int readInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextInt();
+    }
+}
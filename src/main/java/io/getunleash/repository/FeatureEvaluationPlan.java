@@ -0,0 +1,114 @@
+package io.getunleash.repository;
+
+import static io.getunleash.DefaultUnleash.UNKNOWN_STRATEGY;
+
+import io.getunleash.ActivationStrategy;
+import io.getunleash.Constraint;
+import io.getunleash.FeatureToggle;
+import io.getunleash.UnleashContext;
+import io.getunleash.lang.Nullable;
+import io.getunleash.metric.ToggleMetricsSlot;
+import io.getunleash.strategy.CompiledStrategy;
+import io.getunleash.strategy.Strategy;
+import io.getunleash.variant.PreparedVariants;
+import io.getunleash.variant.VariantUtil;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Immutable, pre-resolved form of a {@link FeatureToggle}. Strategies are looked up, the merged
+ * constraints are attached and the variants are prepared when the plan is compiled, so evaluating
+ * it does no per-call lookups or list building.
+ */
+public final class FeatureEvaluationPlan {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FeatureEvaluationPlan.class);
+
+    private final FeatureToggle featureToggle;
+    private final CompiledStrategy[] strategies;
+    private final PreparedVariants variants;
+    @Nullable private final ToggleMetricsSlot metricsSlot;
+
+    private FeatureEvaluationPlan(
+            FeatureToggle featureToggle,
+            CompiledStrategy[] strategies,
+            PreparedVariants variants,
+            @Nullable ToggleMetricsSlot metricsSlot) {
+        this.featureToggle = featureToggle;
+        this.strategies = strategies;
+        this.variants = variants;
+        this.metricsSlot = metricsSlot;
+    }
+
+    public static FeatureEvaluationPlan compile(
+            FeatureToggle featureToggle,
+            Function<ActivationStrategy, List<Constraint>> constraintLookup,
+            Function<String, Strategy> strategyLookup) {
+        return compile(featureToggle, constraintLookup, strategyLookup, null);
+    }
+
+    public static FeatureEvaluationPlan compile(
+            FeatureToggle featureToggle,
+            Function<ActivationStrategy, List<Constraint>> constraintLookup,
+            Function<String, Strategy> strategyLookup,
+            @Nullable ToggleMetricsSlot metricsSlot) {
+        List<ActivationStrategy> activationStrategies =
+                ensureNotNull(featureToggle.getStrategies());
+        CompiledStrategy[] strategies = new CompiledStrategy[activationStrategies.size()];
+        for (int i = 0; i < strategies.length; i++) {
+            ActivationStrategy activationStrategy = activationStrategies.get(i);
+            strategies[i] =
+                    new CompiledStrategy(
+                            activationStrategy,
+                            strategyLookup.apply(activationStrategy.getName()),
+                            constraintLookup.apply(activationStrategy));
+        }
+        return new FeatureEvaluationPlan(
+                featureToggle, strategies, VariantUtil.prepare(featureToggle), metricsSlot);
+    }
+
+    private static List<ActivationStrategy> ensureNotNull(
+            @Nullable List<ActivationStrategy> strategies) {
+        return strategies != null ? strategies : Collections.emptyList();
+    }
+
+    public FeatureToggle getFeatureToggle() {
+        return featureToggle;
+    }
+
+    public String getName() {
+        return featureToggle.getName();
+    }
+
+    public PreparedVariants getVariants() {
+        return variants;
+    }
+
+    /** @return where evaluations of the toggle are counted, or null if it has no assigned slot */
+    public @Nullable ToggleMetricsSlot getMetricsSlot() {
+        return metricsSlot;
+    }
+
+    public boolean isEnabled(UnleashContext context) {
+        if (!featureToggle.isEnabled()) {
+            return false;
+        }
+        if (strategies.length == 0) {
+            return true;
+        }
+        for (CompiledStrategy strategy : strategies) {
+            if (strategy.getStrategy() == UNKNOWN_STRATEGY) {
+                LOGGER.warn(
+                        "Unable to find matching strategy for toggle:{} strategy:{}",
+                        featureToggle.getName(),
+                        strategy.getActivationStrategy().getName());
+            }
+            if (strategy.isEnabled(context)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
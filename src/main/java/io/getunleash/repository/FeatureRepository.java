@@ -1,15 +1,26 @@
 package io.getunleash.repository;
 
+import io.getunleash.ActivationStrategy;
+import io.getunleash.Constraint;
 import io.getunleash.FeatureToggle;
 import io.getunleash.Segment;
 import io.getunleash.UnleashException;
 import io.getunleash.event.EventDispatcher;
 import io.getunleash.event.UnleashReady;
 import io.getunleash.lang.Nullable;
+import io.getunleash.metric.MetricsLayout;
+import io.getunleash.strategy.Strategy;
+import io.getunleash.util.ConstraintMerger;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class FeatureRepository implements IFeatureRepository {
@@ -20,7 +31,8 @@ public class FeatureRepository implements IFeatureRepository {
     private final FeatureFetcher featureFetcher;
     private final EventDispatcher eventDispatcher;
 
-    private FeatureCollection featureCollection;
+    private volatile Snapshot snapshot;
+    @Nullable private Function<String, Strategy> strategyLookup;
     private boolean ready;
 
     public FeatureRepository(UnleashConfig unleashConfig) {
@@ -62,10 +74,11 @@ public class FeatureRepository implements IFeatureRepository {
     }
 
     private void initCollections(UnleashScheduledExecutor executor) {
-        this.featureCollection = this.featureBackupHandler.read();
-        if (this.featureCollection.getToggleCollection().getFeatures().isEmpty()) {
-            this.featureCollection = this.featureBootstrapHandler.read();
+        FeatureCollection featureCollection = ensureNotNull(this.featureBackupHandler.read());
+        if (featureCollection.getToggleCollection().getFeatures().isEmpty()) {
+            featureCollection = this.featureBootstrapHandler.read();
         }
+        install(featureCollection);
 
         if (unleashConfig.isSynchronousFetchOnInitialisation()) {
             updateFeatures().run();
@@ -81,12 +94,13 @@ public class FeatureRepository implements IFeatureRepository {
                 eventDispatcher.dispatch(response);
                 if (response.getStatus() == ClientFeaturesResponse.Status.CHANGED) {
                     SegmentCollection segmentCollection = response.getSegmentCollection();
-                    featureCollection =
+                    FeatureCollection featureCollection =
                             new FeatureCollection(
                                     response.getToggleCollection(),
                                     segmentCollection != null
                                             ? segmentCollection
                                             : new SegmentCollection(Collections.emptyList()));
+                    install(featureCollection);
 
                     featureBackupHandler.write(featureCollection);
                 }
@@ -101,20 +115,148 @@ public class FeatureRepository implements IFeatureRepository {
         };
     }
 
+    /**
+     * Registers the strategies used to compile {@link FeatureEvaluationPlan}s. The features
+     * currently held are compiled right away, and every collection fetched afterwards is compiled
+     * as it is installed. Only the first registration is accepted, since the plans of a client
+     * must not change strategies because another client shares this repository.
+     *
+     * @param strategyLookup resolves a strategy name to the strategy evaluating it
+     * @return false if strategies were registered before, in which case the plans keep using those
+     */
+    public synchronized boolean registerStrategies(Function<String, Strategy> strategyLookup) {
+        if (this.strategyLookup != null) {
+            return false;
+        }
+        this.strategyLookup = strategyLookup;
+        install(snapshot.featureCollection);
+        return true;
+    }
+
+    private synchronized void install(@Nullable FeatureCollection featureCollection) {
+        featureCollection = ensureNotNull(featureCollection);
+        Map<ActivationStrategy, List<Constraint>> mergedConstraints =
+                mergeConstraints(featureCollection);
+        this.snapshot =
+                new Snapshot(
+                        featureCollection,
+                        mergedConstraints,
+                        compile(featureCollection, mergedConstraints));
+    }
+
+    /**
+     * Backup and bootstrap handlers, as well as fetchers, may hand over a collection with missing
+     * parts, which are installed as empty.
+     */
+    private static FeatureCollection ensureNotNull(@Nullable FeatureCollection featureCollection) {
+        if (featureCollection == null) {
+            return new FeatureCollection();
+        }
+        ToggleCollection toggleCollection = featureCollection.getToggleCollection();
+        SegmentCollection segmentCollection = featureCollection.getSegmentCollection();
+        if (toggleCollection != null && segmentCollection != null) {
+            return featureCollection;
+        }
+        return new FeatureCollection(
+                toggleCollection != null
+                        ? toggleCollection
+                        : new ToggleCollection(Collections.emptyList()),
+                segmentCollection != null
+                        ? segmentCollection
+                        : new SegmentCollection(Collections.emptyList()));
+    }
+
+    private static Map<ActivationStrategy, List<Constraint>> mergeConstraints(
+            FeatureCollection featureCollection) {
+        SegmentCollection segmentCollection = featureCollection.getSegmentCollection();
+        Map<ActivationStrategy, List<Constraint>> mergedConstraints = new IdentityHashMap<>();
+        for (FeatureToggle toggle : featureCollection.getToggleCollection().getFeatures()) {
+            if (toggle.getStrategies() == null) {
+                continue;
+            }
+            for (ActivationStrategy strategy : toggle.getStrategies()) {
+                List<Constraint> merged =
+                        ConstraintMerger.mergeConstraints(
+                                segmentCollection::getSegment, strategy);
+                mergedConstraints.put(
+                        strategy,
+                        merged.isEmpty()
+                                ? Collections.emptyList()
+                                : Collections.unmodifiableList(merged));
+            }
+        }
+        return mergedConstraints;
+    }
+
+    private Map<String, FeatureEvaluationPlan> compile(
+            FeatureCollection featureCollection,
+            Map<ActivationStrategy, List<Constraint>> mergedConstraints) {
+        Function<String, Strategy> strategyLookup = this.strategyLookup;
+        if (strategyLookup == null) {
+            return Collections.emptyMap();
+        }
+        List<FeatureToggle> toggles =
+                new ArrayList<>(featureCollection.getToggleCollection().getFeatures());
+        MetricsLayout metricsLayout = new MetricsLayout(toggles);
+        Map<String, FeatureEvaluationPlan> plans = new HashMap<>();
+        for (int i = 0; i < toggles.size(); i++) {
+            FeatureToggle toggle = toggles.get(i);
+            plans.put(
+                    toggle.getName(),
+                    FeatureEvaluationPlan.compile(
+                            toggle,
+                            mergedConstraints::get,
+                            strategyLookup,
+                            metricsLayout.getSlot(i)));
+        }
+        return plans;
+    }
+
     @Override
     public @Nullable FeatureToggle getToggle(String name) {
-        return featureCollection.getToggleCollection().getToggle(name);
+        return snapshot.featureCollection.getToggleCollection().getToggle(name);
+    }
+
+    /**
+     * @return the compiled plan for the toggle, or null if the toggle is unknown or no strategies
+     *     have been registered yet
+     */
+    public @Nullable FeatureEvaluationPlan getEvaluationPlan(String name) {
+        return snapshot.evaluationPlans.get(name);
+    }
+
+    /**
+     * @return the strategy's own constraints followed by the constraints of its segments, merged
+     *     when the current collection was installed, or empty if the strategy is not part of it
+     */
+    public Optional<List<Constraint>> getMergedConstraints(ActivationStrategy strategy) {
+        return Optional.ofNullable(snapshot.mergedConstraints.get(strategy));
     }
 
     @Override
     public List<String> getFeatureNames() {
-        return featureCollection.getToggleCollection().getFeatures().stream()
+        return snapshot.featureCollection.getToggleCollection().getFeatures().stream()
                 .map(FeatureToggle::getName)
                 .collect(Collectors.toList());
     }
 
     @Override
     public Segment getSegment(Integer id) {
-        return featureCollection.getSegmentCollection().getSegment(id);
+        return snapshot.featureCollection.getSegmentCollection().getSegment(id);
+    }
+
+    private static final class Snapshot {
+        private final FeatureCollection featureCollection;
+        private final Map<ActivationStrategy, List<Constraint>> mergedConstraints;
+        private final Map<String, FeatureEvaluationPlan> evaluationPlans;
+
+        private Snapshot(
+                FeatureCollection featureCollection,
+                Map<ActivationStrategy, List<Constraint>> mergedConstraints,
+                Map<String, FeatureEvaluationPlan> evaluationPlans) {
+            this.featureCollection = featureCollection;
+            this.mergedConstraints = mergedConstraints;
+            this.evaluationPlans = evaluationPlans;
+        }
     }
 }
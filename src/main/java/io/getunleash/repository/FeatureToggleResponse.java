@@ -3,10 +3,12 @@ package io.getunleash.repository;
 import io.getunleash.FeatureToggle;
 import io.getunleash.UnleashException;
 import io.getunleash.event.UnleashEvent;
+import io.getunleash.event.UnleashEventType;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.lang.Nullable;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 public class FeatureToggleResponse implements UnleashEvent {
 
@@ -66,6 +68,17 @@ public class FeatureToggleResponse implements UnleashEvent {
                 + location;
     }
 
+    @Override
+    public UnleashEventType getType() {
+        return UnleashEventType.TOGGLES_FETCHED;
+    }
+
+    @Override
+    public boolean isRelevantTo(Set<UnleashEventType> eventTypes) {
+        return eventTypes.contains(UnleashEventType.TOGGLES_FETCHED)
+                || (status == Status.UNAVAILABLE && eventTypes.contains(UnleashEventType.ERROR));
+    }
+
     @Override
     public void publishTo(UnleashSubscriber unleashSubscriber) {
         if (status == FeatureToggleResponse.Status.UNAVAILABLE) {
@@ -6,23 +6,19 @@ import java.io.Reader;
 
 final class JsonFeatureParser {
 
+    private static final Gson GSON =
+            new GsonBuilder()
+                    .registerTypeAdapterFactory(FeatureCollectionTypeAdapter.FACTORY)
+                    .create();
+
     private JsonFeatureParser() {}
 
     public static String toJsonString(FeatureCollection featureCollection) {
-        Gson gson =
-                new GsonBuilder()
-                        .registerTypeAdapter(FeatureCollection.class, new JsonFeatureSerializer())
-                        .create();
-        return gson.toJson(featureCollection);
+        return GSON.toJson(featureCollection);
     }
 
     public static FeatureCollection fromJson(Reader reader) throws IllegalStateException {
-        Gson gson =
-                new GsonBuilder()
-                        .registerTypeAdapter(
-                                FeatureCollection.class, new JsonFeaturesDeserializer())
-                        .create();
-        FeatureCollection featureCollection = gson.fromJson(reader, FeatureCollection.class);
+        FeatureCollection featureCollection = GSON.fromJson(reader, FeatureCollection.class);
         if (featureCollection == null) {
             throw new IllegalStateException("Could not extract features from json");
         }
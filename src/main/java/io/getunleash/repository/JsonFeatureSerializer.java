@@ -10,6 +10,7 @@ import io.getunleash.Segment;
 import java.lang.reflect.Type;
 import java.util.Collection;
 
+@Deprecated // Unused, FeatureCollectionTypeAdapter writes feature collections instead
 public class JsonFeatureSerializer implements JsonSerializer<FeatureCollection> {
 
     private static final Type SEGMENT_COLLECTION_TYPE =
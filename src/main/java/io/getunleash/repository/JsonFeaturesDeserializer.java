@@ -9,6 +9,7 @@ import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.Map;
 
+@Deprecated // Unused, FeatureCollectionTypeAdapter reads feature collections instead
 public class JsonFeaturesDeserializer implements JsonDeserializer<FeatureCollection> {
     private static final Type PARAMS_TYPE = new TypeToken<Map<String, String>>() {}.getType();
 
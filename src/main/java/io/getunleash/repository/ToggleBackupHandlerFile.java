@@ -5,6 +5,7 @@ import io.getunleash.FeatureToggle;
 import io.getunleash.UnleashException;
 import io.getunleash.event.EventDispatcher;
 import io.getunleash.event.UnleashEvent;
+import io.getunleash.event.UnleashEventType;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.util.UnleashConfig;
 import java.io.*;
@@ -68,6 +69,11 @@ public class ToggleBackupHandlerFile implements BackupHandler<ToggleCollection>
             this.toggleCollection = toggleCollection;
         }
 
+        @Override
+        public UnleashEventType getType() {
+            return UnleashEventType.TOGGLE_BACKUP_RESTORED;
+        }
+
         @Override
         public void publishTo(UnleashSubscriber unleashSubscriber) {
             unleashSubscriber.toggleBackupRestored(toggleCollection);
@@ -82,6 +88,11 @@ public class ToggleBackupHandlerFile implements BackupHandler<ToggleCollection>
             this.toggleCollection = toggleCollection;
         }
 
+        @Override
+        public UnleashEventType getType() {
+            return UnleashEventType.TOGGLES_BACKED_UP;
+        }
+
         @Override
         public void publishTo(UnleashSubscriber unleashSubscriber) {
             unleashSubscriber.togglesBackedUp(toggleCollection);
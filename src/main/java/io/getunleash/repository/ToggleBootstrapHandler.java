@@ -4,6 +4,7 @@ import com.google.gson.JsonSyntaxException;
 import io.getunleash.UnleashException;
 import io.getunleash.event.EventDispatcher;
 import io.getunleash.event.UnleashEvent;
+import io.getunleash.event.UnleashEventType;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.lang.Nullable;
 import io.getunleash.util.UnleashConfig;
@@ -52,6 +53,11 @@ public class ToggleBootstrapHandler {
             this.toggleCollection = toggleCollection;
         }
 
+        @Override
+        public UnleashEventType getType() {
+            return UnleashEventType.TOGGLES_BOOTSTRAPPED;
+        }
+
         @Override
         public void publishTo(UnleashSubscriber unleashSubscriber) {
             unleashSubscriber.togglesBootstrapped(toggleCollection);
@@ -1,28 +1,40 @@
 package io.getunleash.strategy;
 
-import java.net.InetAddress;
-import java.net.UnknownHostException;
+import io.getunleash.UnleashContext;
+import io.getunleash.lang.Nullable;
+import io.getunleash.util.LocalHostname;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
-public class ApplicationHostnameStrategy implements Strategy {
+public class ApplicationHostnameStrategy implements PreparedStrategy<Set<String>> {
     public static final String HOST_NAMES_PARAM = "hostNames";
     protected final String NAME = "applicationHostname";
-    private final String hostname;
+    // From the system property; otherwise the local host name once its lookup has completed
+    @Nullable private volatile String hostname;
 
     public ApplicationHostnameStrategy() {
-        this.hostname = resolveHostname();
+        String configuredHostname = System.getProperty("hostname");
+        if (configuredHostname != null) {
+            this.hostname = configuredHostname.toLowerCase();
+        } else {
+            LocalHostname.prefetch();
+        }
     }
 
-    private String resolveHostname() {
-        String hostname = System.getProperty("hostname");
+    private String getHostname() {
+        String hostname = this.hostname;
         if (hostname == null) {
-            try {
-                hostname = InetAddress.getLocalHost().getHostName();
-            } catch (UnknownHostException e) {
-                hostname = "undefined";
+            // Evaluations do not wait for the lookup, and match no host until it has completed
+            hostname = LocalHostname.getNow();
+            if (hostname == null) {
+                return "undefined";
             }
+            hostname = hostname.toLowerCase();
+            this.hostname = hostname;
         }
         return hostname;
     }
@@ -37,7 +49,26 @@ public class ApplicationHostnameStrategy implements Strategy {
         return Optional.ofNullable(parameters.get(HOST_NAMES_PARAM))
                 .map(hostString -> hostString.toLowerCase())
                 .map(hostString -> Arrays.asList(hostString.split(",\\s*")))
-                .map(hostList -> hostList.contains(hostname.toLowerCase()))
+                .map(hostList -> hostList.contains(getHostname()))
                 .orElse(false);
     }
+
+    @Override
+    public @Nullable Set<String> prepare(Map<String, String> parameters) {
+        // Subclasses may have overridden the map based evaluation, which must keep being used
+        if (getClass() != ApplicationHostnameStrategy.class) {
+            return null;
+        }
+        String hostString = parameters.get(HOST_NAMES_PARAM);
+        if (hostString == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(
+                new HashSet<>(Arrays.asList(hostString.toLowerCase().split(",\\s*"))));
+    }
+
+    @Override
+    public boolean isEnabled(Set<String> preparedParameters, UnleashContext unleashContext) {
+        return preparedParameters.contains(getHostname());
+    }
 }
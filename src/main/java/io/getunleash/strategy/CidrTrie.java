@@ -0,0 +1,72 @@
+package io.getunleash.strategy;
+
+import java.util.Arrays;
+
+/**
+ * Binary prefix trie over 128 bit keys, answering whether any stored address range covers an
+ * address in at most one step per bit of the longest stored prefix. IPv4 addresses are stored in
+ * the top 32 bits of the high word. Nodes live in parallel arrays so lookups do not allocate or
+ * chase object references; a trie is only read once it has been built.
+ */
+final class CidrTrie {
+    private static final int NO_CHILD = 0;
+
+    // children[2 * node + bit] holds the child index, the root (0) is never a child
+    private int[] children = new int[32];
+    private boolean[] terminal = new boolean[16];
+    private int size = 1;
+
+    /**
+     * @param high the high 64 bits of the range address
+     * @param low the low 64 bits of the range address
+     * @param prefixLength the number of leading bits that define the range
+     */
+    void add(long high, long low, int prefixLength) {
+        int node = 0;
+        for (int bit = 0; bit < prefixLength; bit++) {
+            if (terminal[node]) {
+                // A shorter range already covers this one
+                return;
+            }
+            int index = 2 * node + bitAt(high, low, bit);
+            int child = children[index];
+            if (child == NO_CHILD) {
+                // Grow before storing, newNode() may replace the array
+                child = newNode();
+                children[index] = child;
+            }
+            node = child;
+        }
+        terminal[node] = true;
+    }
+
+    boolean contains(long high, long low) {
+        int node = 0;
+        for (int bit = 0; !terminal[node]; bit++) {
+            if (bit == 128) {
+                return false;
+            }
+            node = children[2 * node + bitAt(high, low, bit)];
+            if (node == NO_CHILD) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isEmpty() {
+        return size == 1 && !terminal[0];
+    }
+
+    private int newNode() {
+        if (size == terminal.length) {
+            terminal = Arrays.copyOf(terminal, size * 2);
+            children = Arrays.copyOf(children, size * 4);
+        }
+        return size++;
+    }
+
+    private static int bitAt(long high, long low, int bit) {
+        return (int) (bit < 64 ? high >>> (63 - bit) : low >>> (127 - bit)) & 1;
+    }
+}
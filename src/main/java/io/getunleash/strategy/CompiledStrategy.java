@@ -0,0 +1,111 @@
+package io.getunleash.strategy;
+
+import io.getunleash.ActivationStrategy;
+import io.getunleash.Constraint;
+import io.getunleash.UnleashContext;
+import io.getunleash.lang.Nullable;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link ActivationStrategy} bound to the {@link Strategy} that evaluates it and to its
+ * constraints, with segment constraints already merged in. Instances are immutable and built once
+ * per feature snapshot, which is also when a {@link PreparedStrategy} gets to {@link
+ * PreparedStrategy#prepare(Map) prepare} its parameters and the constraints are {@link
+ * ConstraintUtil#prepare(List) prepared}.
+ */
+public final class CompiledStrategy {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledStrategy.class);
+
+    // Whether a strategy class replaces the constraint validation, which preparing would bypass
+    private static final ClassValue<Boolean> OVERRIDES_VALIDATION =
+            new ClassValue<Boolean>() {
+                @Override
+                protected Boolean computeValue(Class<?> type) {
+                    try {
+                        Method isEnabled =
+                                type.getMethod(
+                                        "isEnabled", Map.class, UnleashContext.class, List.class);
+                        return isEnabled.getDeclaringClass() != Strategy.class;
+                    } catch (NoSuchMethodException ex) {
+                        return true;
+                    }
+                }
+            };
+
+    private final ActivationStrategy activationStrategy;
+    private final Strategy strategy;
+    private final List<Constraint> constraints;
+    @Nullable private final PreparedStrategy<Object> preparedStrategy;
+    @Nullable private final Object preparedParameters;
+
+    public CompiledStrategy(
+            ActivationStrategy activationStrategy,
+            Strategy strategy,
+            List<Constraint> constraints) {
+        this.activationStrategy = activationStrategy;
+        this.strategy = strategy;
+        this.constraints = prepareConstraints(activationStrategy, constraints);
+        this.preparedStrategy = preparedStrategyOf(strategy);
+        this.preparedParameters =
+                preparedStrategy != null ? prepare(activationStrategy, preparedStrategy) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable PreparedStrategy<Object> preparedStrategyOf(Strategy strategy) {
+        if (strategy instanceof PreparedStrategy
+                && !OVERRIDES_VALIDATION.get(strategy.getClass())) {
+            return (PreparedStrategy<Object>) strategy;
+        }
+        return null;
+    }
+
+    private static @Nullable Object prepare(
+            ActivationStrategy activationStrategy, PreparedStrategy<Object> strategy) {
+        try {
+            return strategy.prepare(activationStrategy.getParameters());
+        } catch (RuntimeException ex) {
+            LOGGER.warn(
+                    "Strategy {} failed to prepare its parameters, evaluating them unprepared",
+                    activationStrategy.getName(),
+                    ex);
+            return null;
+        }
+    }
+
+    private static List<Constraint> prepareConstraints(
+            ActivationStrategy activationStrategy, List<Constraint> constraints) {
+        try {
+            return ConstraintUtil.prepare(constraints);
+        } catch (RuntimeException ex) {
+            LOGGER.warn(
+                    "Constraints of strategy {} could not be prepared, evaluating them unprepared",
+                    activationStrategy.getName(),
+                    ex);
+            return constraints;
+        }
+    }
+
+    public ActivationStrategy getActivationStrategy() {
+        return activationStrategy;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public List<Constraint> getConstraints() {
+        return constraints;
+    }
+
+    public boolean isEnabled(UnleashContext context) {
+        if (preparedStrategy != null && preparedParameters != null) {
+            return ConstraintUtil.validate(constraints, context)
+                    && preparedStrategy.isEnabled(preparedParameters, context);
+        }
+        return strategy.isEnabled(activationStrategy.getParameters(), context, constraints);
+    }
+}
@@ -23,15 +23,17 @@ import io.getunleash.lang.Nullable;
 import io.getunleash.strategy.constraints.ConstraintOperator;
 import io.getunleash.strategy.constraints.DateConstraintOperator;
 import io.getunleash.strategy.constraints.NumberConstraintOperator;
+import io.getunleash.strategy.constraints.PreparedConstraint;
 import io.getunleash.strategy.constraints.SemverConstraintOperator;
 import io.getunleash.strategy.constraints.StringConstraintOperator;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
 public class ConstraintUtil {
-    private static final Map<Operator, ConstraintOperator> operators = new HashMap<>();
+    private static final Map<Operator, ConstraintOperator> operators =
+            new EnumMap<>(Operator.class);
 
     static {
         operators.put(STR_CONTAINS, new StringConstraintOperator(Locale.ROOT));
@@ -52,11 +54,37 @@ public class ConstraintUtil {
     }
 
     public static boolean validate(@Nullable List<Constraint> constraints, UnleashContext context) {
-        if (constraints != null && constraints.size() > 0) {
-            return constraints.stream().allMatch(c -> validateConstraint(c, context));
-        } else {
-            return true;
+        if (constraints instanceof PreparedConstraintList) {
+            return ((PreparedConstraintList) constraints).validate(context);
         }
+        if (constraints != null) {
+            for (Constraint constraint : constraints) {
+                if (!validateConstraint(constraint, context)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Binds each constraint to its operator, so that {@link #validate(List, UnleashContext)} no
+     * longer looks operators up or parses constraint values when it is given the returned list.
+     *
+     * @return an unmodifiable list with the same constraints
+     */
+    public static List<Constraint> prepare(List<Constraint> constraints) {
+        if (constraints instanceof PreparedConstraintList) {
+            return constraints;
+        }
+        PreparedConstraint[] prepared = new PreparedConstraint[constraints.size()];
+        for (int i = 0; i < prepared.length; i++) {
+            Constraint constraint = constraints.get(i);
+            ConstraintOperator operator = operators.get(constraint.getOperator());
+            // Constraints with an unknown operator are never satisfied, inverted or not
+            prepared[i] = operator == null ? null : operator.prepare(constraint);
+        }
+        return new PreparedConstraintList(constraints, prepared);
     }
 
     private static boolean validateConstraint(Constraint constraint, UnleashContext context) {
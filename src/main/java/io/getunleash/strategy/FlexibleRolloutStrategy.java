@@ -1,22 +1,32 @@
 package io.getunleash.strategy;
 
 import io.getunleash.UnleashContext;
+import io.getunleash.lang.Nullable;
+import io.getunleash.util.RandomSource;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.Supplier;
 
-public class FlexibleRolloutStrategy implements Strategy {
+public class FlexibleRolloutStrategy
+        implements PreparedStrategy<FlexibleRolloutStrategy.Parameters> {
     protected static final String PERCENTAGE = "rollout";
     protected static final String GROUP_ID = "groupId";
 
-    private Supplier<String> randomGenerator;
+    // A custom generator decides the bucket through the hash, otherwise a number is drawn
+    @Nullable private final Supplier<String> randomGenerator;
+    private final RandomSource randomSource;
 
     public FlexibleRolloutStrategy() {
-        this.randomGenerator = () -> Math.random() * 100 + "";
+        this(RandomSource.THREAD_LOCAL);
+    }
+
+    public FlexibleRolloutStrategy(RandomSource randomSource) {
+        this.randomGenerator = null;
+        this.randomSource = randomSource;
     }
 
     public FlexibleRolloutStrategy(Supplier<String> randomGenerator) {
         this.randomGenerator = randomGenerator;
+        this.randomSource = RandomSource.THREAD_LOCAL;
     }
 
     @Override
@@ -29,38 +39,73 @@ public class FlexibleRolloutStrategy implements Strategy {
         return false;
     }
 
-    private Optional<String> resolveStickiness(String stickiness, UnleashContext context) {
-        switch (stickiness) {
-            case "userId":
-                return context.getUserId();
-            case "sessionId":
-                return context.getSessionId();
+    @Override
+    public boolean isEnabled(Map<String, String> parameters, UnleashContext unleashContext) {
+        return isEnabled(toParameters(parameters), unleashContext);
+    }
+
+    @Override
+    public @Nullable Parameters prepare(Map<String, String> parameters) {
+        // Subclasses may have overridden the map based evaluation, which must keep being used
+        if (getClass() != FlexibleRolloutStrategy.class) {
+            return null;
+        }
+        return toParameters(parameters);
+    }
+
+    @Override
+    public boolean isEnabled(Parameters parameters, UnleashContext unleashContext) {
+        if (parameters.percentage <= 0) {
+            return false;
+        }
+        String stickinessId;
+        switch (parameters.stickiness) {
             case "random":
-                return Optional.of(randomGenerator.get());
+                return randomNormalizedNumber(parameters) <= parameters.percentage;
             case "default":
-                String value =
-                        context.getUserId()
-                                .orElse(context.getSessionId().orElse(this.randomGenerator.get()));
-                return Optional.of(value);
+                stickinessId = unleashContext.get(UnleashContext.USER_ID_SLOT);
+                if (stickinessId == null) {
+                    stickinessId = unleashContext.get(UnleashContext.SESSION_ID_SLOT);
+                }
+                if (stickinessId == null) {
+                    return randomNormalizedNumber(parameters) <= parameters.percentage;
+                }
+                break;
             default:
-                return context.getByName(stickiness);
+                stickinessId =
+                        unleashContext.get(parameters.stickinessSlot, parameters.stickiness);
+                if (stickinessId == null) {
+                    return false;
+                }
         }
+        return parameters.groupPrefix.getNormalizedNumber(stickinessId) <= parameters.percentage;
     }
 
-    @Override
-    public boolean isEnabled(Map<String, String> parameters, UnleashContext unleashContext) {
-        final String stickiness = getStickiness(parameters);
-        final Optional<String> stickinessId = resolveStickiness(stickiness, unleashContext);
-        final int percentage = StrategyUtils.getPercentage(parameters.get(PERCENTAGE));
-        final String groupId = parameters.getOrDefault(GROUP_ID, "");
+    private int randomNormalizedNumber(Parameters parameters) {
+        if (randomGenerator == null) {
+            return randomSource.nextInt(100) + 1;
+        }
+        return parameters.groupPrefix.getNormalizedNumber(randomGenerator.get());
+    }
 
-        return stickinessId
-                .map(stick -> StrategyUtils.getNormalizedNumber(stick, groupId))
-                .map(norm -> percentage > 0 && norm <= percentage)
-                .orElse(false);
+    private static Parameters toParameters(Map<String, String> parameters) {
+        return new Parameters(
+                parameters.getOrDefault("stickiness", "default"),
+                StrategyUtils.getPercentage(parameters.get(PERCENTAGE)),
+                parameters.getOrDefault(GROUP_ID, ""));
     }
 
-    private String getStickiness(Map<String, String> parameters) {
-        return parameters.getOrDefault("stickiness", "default");
+    static final class Parameters {
+        private final String stickiness;
+        private final int stickinessSlot;
+        private final int percentage;
+        private final StrategyUtils.GroupPrefix groupPrefix;
+
+        private Parameters(String stickiness, int percentage, String groupId) {
+            this.stickiness = stickiness;
+            this.stickinessSlot = UnleashContext.slotOf(stickiness);
+            this.percentage = percentage;
+            this.groupPrefix = StrategyUtils.prefixOf(groupId);
+        }
     }
 }
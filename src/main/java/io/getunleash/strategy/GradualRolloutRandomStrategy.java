@@ -1,20 +1,24 @@
 package io.getunleash.strategy;
 
+import io.getunleash.util.RandomSource;
 import java.util.Map;
-import java.util.Random;
 
 public final class GradualRolloutRandomStrategy implements Strategy {
     protected static final String PERCENTAGE = "percentage";
     private static final String STRATEGY_NAME = "gradualRolloutRandom";
 
-    private final Random random;
+    private final RandomSource randomSource;
 
     public GradualRolloutRandomStrategy() {
-        random = new Random();
+        this(RandomSource.THREAD_LOCAL);
     }
 
     protected GradualRolloutRandomStrategy(long seed) {
-        random = new Random(seed);
+        this(RandomSource.seeded(seed));
+    }
+
+    public GradualRolloutRandomStrategy(RandomSource randomSource) {
+        this.randomSource = randomSource;
     }
 
     @Override
@@ -25,7 +29,7 @@ public final class GradualRolloutRandomStrategy implements Strategy {
     @Override
     public boolean isEnabled(final Map<String, String> parameters) {
         int percentage = StrategyUtils.getPercentage(parameters.get(PERCENTAGE));
-        int randomNumber = random.nextInt(100) + 1;
+        int randomNumber = randomSource.nextInt(100) + 1;
         return percentage >= randomNumber;
     }
 }
@@ -2,7 +2,6 @@ package io.getunleash.strategy;
 
 import io.getunleash.UnleashContext;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * Implements a gradual roll-out strategy based on session id.
@@ -33,16 +32,16 @@ public final class GradualRolloutSessionIdStrategy implements Strategy {
 
     @Override
     public boolean isEnabled(final Map<String, String> parameters, UnleashContext unleashContext) {
-        Optional<String> sessionId = unleashContext.getSessionId();
+        String sessionId = unleashContext.get(UnleashContext.SESSION_ID_SLOT);
 
-        if (!sessionId.isPresent()) {
+        if (sessionId == null) {
             return false;
         }
 
         final int percentage = StrategyUtils.getPercentage(parameters.get(PERCENTAGE));
         final String groupId = parameters.getOrDefault(GROUP_ID, "");
 
-        final int normalizedSessionId = StrategyUtils.getNormalizedNumber(sessionId.get(), groupId);
+        final int normalizedSessionId = StrategyUtils.getNormalizedNumber(sessionId, groupId);
 
         return percentage > 0 && normalizedSessionId <= percentage;
     }
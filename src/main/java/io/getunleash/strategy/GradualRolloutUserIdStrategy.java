@@ -2,7 +2,6 @@ package io.getunleash.strategy;
 
 import io.getunleash.UnleashContext;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * Implements a gradual roll-out strategy based on userId.
@@ -33,16 +32,16 @@ public final class GradualRolloutUserIdStrategy implements Strategy {
 
     @Override
     public boolean isEnabled(final Map<String, String> parameters, UnleashContext unleashContext) {
-        Optional<String> userId = unleashContext.getUserId();
+        String userId = unleashContext.get(UnleashContext.USER_ID_SLOT);
 
-        if (!userId.isPresent()) {
+        if (userId == null) {
             return false;
         }
 
         final int percentage = StrategyUtils.getPercentage(parameters.get(PERCENTAGE));
         final String groupId = parameters.getOrDefault(GROUP_ID, "");
 
-        final int normalizedUserId = StrategyUtils.getNormalizedNumber(userId.get(), groupId);
+        final int normalizedUserId = StrategyUtils.getNormalizedNumber(userId, groupId);
 
         return percentage > 0 && normalizedUserId <= percentage;
     }
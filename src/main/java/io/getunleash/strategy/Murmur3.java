@@ -0,0 +1,151 @@
+package io.getunleash.strategy;
+
+/**
+ * MurmurHash3 x86_32 over the UTF-8 encoding of character sequences, computed without encoding them
+ * into a byte array first. The running state packs the hash, the pending tail bytes and their
+ * count into one long, so a hash can be resumed from a stored prefix.
+ */
+final class Murmur3 {
+    static final long INITIAL_STATE = 0L;
+
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+
+    private Murmur3() {}
+
+    static long update(long state, CharSequence chars) {
+        int h1 = (int) state;
+        int tail = (int) (state >>> 32) & 0xffffff;
+        int tailBytes = (int) (state >>> 56);
+        int length = chars.length();
+        for (int i = 0; i < length; i++) {
+            char c = chars.charAt(i);
+            int bytes;
+            int count;
+            if (c < 0x80) {
+                bytes = c;
+                count = 1;
+            } else if (c < 0x800) {
+                bytes = (0xc0 | c >> 6) | (0x80 | c & 0x3f) << 8;
+                count = 2;
+            } else if (!Character.isSurrogate(c)) {
+                bytes = (0xe0 | c >> 12) | (0x80 | c >> 6 & 0x3f) << 8 | (0x80 | c & 0x3f) << 16;
+                count = 3;
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < length
+                    && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                bytes =
+                        (0xf0 | codePoint >> 18)
+                                | (0x80 | codePoint >> 12 & 0x3f) << 8
+                                | (0x80 | codePoint >> 6 & 0x3f) << 16
+                                | (0x80 | codePoint & 0x3f) << 24;
+                count = 4;
+            } else {
+                // Unpaired surrogates are encoded as '?', like String.getBytes does
+                bytes = '?';
+                count = 1;
+            }
+            for (; count > 0; count--, bytes >>>= 8) {
+                tail |= (bytes & 0xff) << (tailBytes << 3);
+                if (++tailBytes == 4) {
+                    h1 = mixH1(h1, mixK1(tail));
+                    tail = 0;
+                    tailBytes = 0;
+                }
+            }
+        }
+        return pack(h1, tail, tailBytes);
+    }
+
+    static long update(long state, char asciiChar) {
+        int h1 = (int) state;
+        int tail = (int) (state >>> 32) & 0xffffff;
+        int tailBytes = (int) (state >>> 56);
+        tail |= (asciiChar & 0x7f) << (tailBytes << 3);
+        if (++tailBytes == 4) {
+            return pack(mixH1(h1, mixK1(tail)), 0, 0);
+        }
+        return pack(h1, tail, tailBytes);
+    }
+
+    /** @return the number of bytes {@link #update(long, CharSequence)} hashes for the sequence */
+    static int utf8Length(CharSequence chars) {
+        int length = chars.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = chars.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                } else if (Character.isHighSurrogate(c)
+                        && i + 1 < length
+                        && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                    // Two chars become four bytes
+                    bytes += 2;
+                    i++;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @param length the total number of bytes hashed into the state
+     * @return the hash as an unsigned 32 bit value
+     */
+    static long finish(long state, int length) {
+        int h1 = (int) state;
+        int tail = (int) (state >>> 32) & 0xffffff;
+        int tailBytes = (int) (state >>> 56);
+        if (tailBytes > 0) {
+            h1 ^= mixK1(tailKey(tail, tailBytes));
+        }
+        h1 ^= length;
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+        return h1 & 0xffffffffL;
+    }
+
+    /**
+     * Combines the tail bytes the way the com.sangupta murmur library, which computed rollouts
+     * before, does: each byte is sign extended before it is shifted into place. Rollout buckets of
+     * identifiers ending in non-ASCII characters depend on it.
+     */
+    @SuppressWarnings("fallthrough")
+    private static int tailKey(int tail, int tailBytes) {
+        int k1 = 0;
+        switch (tailBytes) {
+            case 3:
+                k1 ^= (byte) (tail >>> 16) << 16;
+                // fall through
+            case 2:
+                k1 ^= (byte) (tail >>> 8) << 8;
+                // fall through
+            default:
+                k1 ^= (byte) tail;
+        }
+        return k1;
+    }
+
+    private static int mixK1(int k1) {
+        k1 *= C1;
+        k1 = Integer.rotateLeft(k1, 15);
+        return k1 * C2;
+    }
+
+    private static int mixH1(int h1, int k1) {
+        h1 ^= k1;
+        h1 = Integer.rotateLeft(h1, 13);
+        return h1 * 5 + 0xe6546b64;
+    }
+
+    private static long pack(int h1, int tail, int tailBytes) {
+        return (h1 & 0xffffffffL) | (long) tail << 32 | (long) tailBytes << 56;
+    }
+}
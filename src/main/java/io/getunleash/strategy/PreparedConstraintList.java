@@ -0,0 +1,44 @@
+package io.getunleash.strategy;
+
+import io.getunleash.Constraint;
+import io.getunleash.UnleashContext;
+import io.getunleash.strategy.constraints.PreparedConstraint;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The constraints of an activation strategy together with their prepared form, built by {@link
+ * ConstraintUtil#prepare(List)}. Strategies still see a plain list of constraints while {@link
+ * ConstraintUtil#validate(List, UnleashContext)} evaluates the prepared ones.
+ */
+final class PreparedConstraintList extends AbstractList<Constraint> implements RandomAccess {
+    private final Constraint[] constraints;
+    // Null where the operator of the constraint is unknown
+    private final PreparedConstraint[] prepared;
+
+    PreparedConstraintList(List<Constraint> constraints, PreparedConstraint[] prepared) {
+        this.constraints = constraints.toArray(new Constraint[0]);
+        this.prepared = prepared;
+    }
+
+    boolean validate(UnleashContext context) {
+        for (int i = 0; i < prepared.length; i++) {
+            PreparedConstraint constraint = prepared[i];
+            if (constraint == null || !constraint.evaluate(context)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Constraint get(int index) {
+        return constraints[index];
+    }
+
+    @Override
+    public int size() {
+        return constraints.length;
+    }
+}
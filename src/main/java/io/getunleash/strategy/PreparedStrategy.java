@@ -0,0 +1,31 @@
+package io.getunleash.strategy;
+
+import io.getunleash.UnleashContext;
+import io.getunleash.lang.Nullable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link Strategy} which turns the parameters of an activation strategy into a form that is
+ * cheaper to evaluate, e.g. with lists split and numbers parsed. {@link #prepare(Map)} is called
+ * once for every activation strategy using this strategy whenever a new set of features is
+ * installed, and from then on the client validates the constraints itself and only calls {@link
+ * #isEnabled(Object, UnleashContext)} for the activation strategy.
+ *
+ * <p>Strategies overriding {@link #isEnabled(Map, UnleashContext, List)} are always evaluated
+ * through that method, as it would be bypassed by the prepared parameters.
+ *
+ * @param <P> the type of the prepared parameters
+ */
+public interface PreparedStrategy<P> extends Strategy {
+
+    /**
+     * @param parameters the parameters of the activation strategy
+     * @return the prepared parameters, or null to evaluate the parameter map on every call
+     */
+    @Nullable
+    P prepare(Map<String, String> parameters);
+
+    /** @param preparedParameters a value returned by {@link #prepare(Map)} of this strategy */
+    boolean isEnabled(P preparedParameters, UnleashContext unleashContext);
+}
@@ -1,17 +1,23 @@
 package io.getunleash.strategy;
 
 import io.getunleash.UnleashContext;
+import io.getunleash.util.IpAddressLiteral;
 import io.getunleash.util.IpAddressMatcher;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
-public final class RemoteAddressStrategy implements Strategy {
+public final class RemoteAddressStrategy
+        implements PreparedStrategy<RemoteAddressStrategy.AddressRanges> {
     static final String PARAM = "IPs";
     private static final String STRATEGY_NAME = "remoteAddress";
     private static final Pattern SPLITTER = Pattern.compile(",");
+    private static final ThreadLocal<long[]> ADDRESS_WORDS =
+            ThreadLocal.withInitial(() -> new long[2]);
 
     @Override
     public String getName() {
@@ -44,11 +50,102 @@ public final class RemoteAddressStrategy implements Strategy {
                 .orElse(false);
     }
 
-    private Optional<IpAddressMatcher> buildIpAddressMatcher(String ipAddress) {
+    /**
+     * Compiles the address literals and ranges of the {@code IPs} parameter into one prefix trie
+     * per address family. Entries which are not literals, such as host names, are kept as {@link
+     * IpAddressMatcher}s and checked one by one.
+     */
+    @Override
+    public AddressRanges prepare(Map<String, String> parameters) {
+        AddressRanges ranges = new AddressRanges();
+        String ips = parameters.get(PARAM);
+        if (ips != null) {
+            for (String ipAddress : SPLITTER.split(ips, -1)) {
+                ranges.add(ipAddress.trim());
+            }
+        }
+        return ranges;
+    }
+
+    @Override
+    public boolean isEnabled(AddressRanges ranges, UnleashContext context) {
+        String remoteAddress = context.get(UnleashContext.REMOTE_ADDRESS_SLOT);
+        return remoteAddress != null && !remoteAddress.isEmpty() && ranges.matches(remoteAddress);
+    }
+
+    private static Optional<IpAddressMatcher> buildIpAddressMatcher(String ipAddress) {
         try {
             return Optional.of(new IpAddressMatcher(ipAddress));
         } catch (IllegalArgumentException ex) {
             return Optional.empty();
         }
     }
+
+    static final class AddressRanges {
+        private final CidrTrie ipv4 = new CidrTrie();
+        private final CidrTrie ipv6 = new CidrTrie();
+        private final List<IpAddressMatcher> others = new ArrayList<>(0);
+
+        void add(String ipAddress) {
+            if (ipAddress.isEmpty()) {
+                return;
+            }
+            int slash = ipAddress.indexOf('/');
+            int addressEnd = slash > 0 ? slash : ipAddress.length();
+            long[] words = new long[2];
+            int version = IpAddressLiteral.parse(ipAddress, 0, addressEnd, words);
+            int width = version == IpAddressLiteral.IPV4 ? 32 : 128;
+            int prefixLength = slash > 0 ? parsePrefixLength(ipAddress, slash + 1) : width;
+            if (version == IpAddressLiteral.INVALID || prefixLength < 0) {
+                buildIpAddressMatcher(ipAddress).ifPresent(others::add);
+            } else if (prefixLength > width) {
+                // Not a range of this address family, so it cannot match anything
+                return;
+            } else if (version == IpAddressLiteral.IPV4) {
+                ipv4.add(words[1] << 32, 0, prefixLength);
+            } else {
+                ipv6.add(words[0], words[1], prefixLength);
+            }
+        }
+
+        boolean matches(String remoteAddress) {
+            long[] words = ADDRESS_WORDS.get();
+            switch (IpAddressLiteral.parse(remoteAddress, words)) {
+                case IpAddressLiteral.IPV4:
+                    if (!ipv4.isEmpty() && ipv4.contains(words[1] << 32, 0)) {
+                        return true;
+                    }
+                    break;
+                case IpAddressLiteral.IPV6:
+                    if (!ipv6.isEmpty() && ipv6.contains(words[0], words[1])) {
+                        return true;
+                    }
+                    break;
+                default:
+            }
+            for (IpAddressMatcher matcher : others) {
+                if (matcher.matches(remoteAddress)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** @return the prefix length, or -1 if the text is not a plain decimal number */
+        private static int parsePrefixLength(String ipAddress, int start) {
+            int end = ipAddress.length();
+            if (start == end || end - start > 3) {
+                return -1;
+            }
+            int prefixLength = 0;
+            for (int i = start; i < end; i++) {
+                char c = ipAddress.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                prefixLength = prefixLength * 10 + (c - '0');
+            }
+            return prefixLength;
+        }
+    }
 }
@@ -1,6 +1,5 @@
 package io.getunleash.strategy;
 
-import com.sangupta.murmur.Murmur3;
 import io.getunleash.lang.Nullable;
 
 public final class StrategyUtils {
@@ -40,11 +39,49 @@ public final class StrategyUtils {
     }
 
     public static int getNormalizedNumber(String identifier, String groupId, int normalizer) {
-        byte[] value = (groupId + ':' + identifier).getBytes();
-        long hash = Murmur3.hash_x86_32(value, value.length, 0);
+        long state = Murmur3.update(Murmur3.update(Murmur3.INITIAL_STATE, groupId), ':');
+        int length = Murmur3.utf8Length(groupId) + 1 + Murmur3.utf8Length(identifier);
+        long hash = Murmur3.finish(Murmur3.update(state, identifier), length);
         return (int) (hash % normalizer) + 1;
     }
 
+    /**
+     * Hashes {@code groupId:} once so that normalizing many identifiers against the same group only
+     * hashes the identifiers. Gives the same numbers as {@link #getNormalizedNumber(String, String,
+     * int)}.
+     */
+    public static GroupPrefix prefixOf(String groupId) {
+        return new GroupPrefix(groupId);
+    }
+
+    public static final class GroupPrefix {
+        private final String groupId;
+        private final long state;
+        private final int length;
+
+        private GroupPrefix(String groupId) {
+            this.groupId = groupId;
+            this.state = Murmur3.update(Murmur3.update(Murmur3.INITIAL_STATE, groupId), ':');
+            this.length = Murmur3.utf8Length(groupId) + 1;
+        }
+
+        public String getGroupId() {
+            return groupId;
+        }
+
+        public int getNormalizedNumber(String identifier) {
+            return getNormalizedNumber(identifier, ONE_HUNDRED);
+        }
+
+        public int getNormalizedNumber(String identifier, int normalizer) {
+            long hash =
+                    Murmur3.finish(
+                            Murmur3.update(state, identifier),
+                            length + Murmur3.utf8Length(identifier));
+            return (int) (hash % normalizer) + 1;
+        }
+    }
+
     /**
      * Takes a numeric string value and converts it to a integer between 0 and 100.
      *
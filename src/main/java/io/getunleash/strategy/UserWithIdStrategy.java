@@ -3,10 +3,13 @@ package io.getunleash.strategy;
 import static java.util.Arrays.asList;
 
 import io.getunleash.UnleashContext;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
-public final class UserWithIdStrategy implements Strategy {
+public final class UserWithIdStrategy implements PreparedStrategy<Set<String>> {
 
     protected static final String PARAM = "userIds";
     private static final String STRATEGY_NAME = "userWithId";
@@ -33,4 +36,19 @@ public final class UserWithIdStrategy implements Strategy {
                                         .isPresent())
                 .orElse(false);
     }
+
+    @Override
+    public Set<String> prepare(Map<String, String> parameters) {
+        String userIdString = parameters.get(PARAM);
+        if (userIdString == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new HashSet<>(asList(userIdString.split(",\\s?"))));
+    }
+
+    @Override
+    public boolean isEnabled(Set<String> preparedParameters, UnleashContext unleashContext) {
+        String userId = unleashContext.get(UnleashContext.USER_ID_SLOT);
+        return userId != null && preparedParameters.contains(userId);
+    }
 }
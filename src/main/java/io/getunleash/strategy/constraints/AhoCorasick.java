@@ -0,0 +1,71 @@
+package io.getunleash.strategy.constraints;
+
+/**
+ * Aho-Corasick automaton answering whether a text contains any of a set of patterns in a single
+ * pass over the text, however many patterns there are.
+ */
+final class AhoCorasick {
+    private final CharTrie trie = new CharTrie();
+    // The node of the longest proper suffix of a node's path which is also in the trie
+    private final int[] failure;
+    // Whether a pattern ends at the node or at any node on its failure chain
+    private final boolean[] output;
+
+    AhoCorasick(String[] patterns) {
+        for (String pattern : patterns) {
+            trie.add(pattern, false);
+        }
+        int size = trie.size();
+        failure = new int[size];
+        output = new boolean[size];
+        output[CharTrie.ROOT] = trie.isTerminal(CharTrie.ROOT);
+
+        // Breadth first, so the failure target of a node is complete before the node is visited
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = CharTrie.ROOT;
+        while (head < tail) {
+            int node = queue[head++];
+            char[] labels = trie.labels(node);
+            int[] children = trie.children(node);
+            for (int i = 0; i < children.length; i++) {
+                int child = children[i];
+                int target = CharTrie.ROOT;
+                if (node != CharTrie.ROOT) {
+                    target = step(failure[node], labels[i]);
+                }
+                failure[child] = target;
+                output[child] = trie.isTerminal(child) || output[target];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    boolean containsAny(String text) {
+        if (output[CharTrie.ROOT]) {
+            return true;
+        }
+        int node = CharTrie.ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            node = step(node, text.charAt(i));
+            if (output[node]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int step(int node, char c) {
+        while (true) {
+            int next = trie.child(node, c);
+            if (next != CharTrie.NO_NODE) {
+                return next;
+            }
+            if (node == CharTrie.ROOT) {
+                return CharTrie.ROOT;
+            }
+            node = failure[node];
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.getunleash.strategy.constraints;
+
+import java.util.Arrays;
+
+/**
+ * Trie over the chars of a set of words. The outgoing edges of every node are kept sorted, so a
+ * step is a binary search over the node's labels, and nodes live in parallel arrays. A trie is
+ * only read once it has been built.
+ */
+final class CharTrie {
+    static final int ROOT = 0;
+    static final int NO_NODE = -1;
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final int[] NO_CHILDREN = new int[0];
+
+    private char[][] labels = new char[16][];
+    private int[][] children = new int[16][];
+    private boolean[] terminal = new boolean[16];
+    private int size = 1;
+
+    CharTrie() {
+        labels[ROOT] = NO_LABELS;
+        children[ROOT] = NO_CHILDREN;
+    }
+
+    /** Adds the word, read from its last char to its first if {@code reversed} is set. */
+    void add(String word, boolean reversed) {
+        int node = ROOT;
+        int length = word.length();
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(reversed ? length - 1 - i : i);
+            int child = child(node, c);
+            if (child == NO_NODE) {
+                child = addChild(node, c);
+            }
+            node = child;
+        }
+        terminal[node] = true;
+    }
+
+    /** @return whether any word added forwards is a prefix of the text */
+    boolean matchesPrefixOf(String text) {
+        int node = ROOT;
+        for (int i = 0; !terminal[node]; i++) {
+            if (i == text.length()) {
+                return false;
+            }
+            node = child(node, text.charAt(i));
+            if (node == NO_NODE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return whether any word added reversed is a suffix of the text */
+    boolean matchesSuffixOf(String text) {
+        int node = ROOT;
+        for (int i = text.length() - 1; !terminal[node]; i--) {
+            if (i < 0) {
+                return false;
+            }
+            node = child(node, text.charAt(i));
+            if (node == NO_NODE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return the node reached from {@code node} over {@code c}, or {@link #NO_NODE} */
+    int child(int node, char c) {
+        int index = Arrays.binarySearch(labels[node], c);
+        return index < 0 ? NO_NODE : children[node][index];
+    }
+
+    int[] children(int node) {
+        return children[node];
+    }
+
+    char[] labels(int node) {
+        return labels[node];
+    }
+
+    boolean isTerminal(int node) {
+        return terminal[node];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int addChild(int node, char c) {
+        if (size == terminal.length) {
+            labels = Arrays.copyOf(labels, size * 2);
+            children = Arrays.copyOf(children, size * 2);
+            terminal = Arrays.copyOf(terminal, size * 2);
+        }
+        int child = size++;
+        labels[child] = NO_LABELS;
+        children[child] = NO_CHILDREN;
+
+        char[] nodeLabels = labels[node];
+        int[] nodeChildren = children[node];
+        int index = -Arrays.binarySearch(nodeLabels, c) - 1;
+        char[] newLabels = new char[nodeLabels.length + 1];
+        int[] newChildren = new int[nodeChildren.length + 1];
+        System.arraycopy(nodeLabels, 0, newLabels, 0, index);
+        System.arraycopy(nodeChildren, 0, newChildren, 0, index);
+        newLabels[index] = c;
+        newChildren[index] = child;
+        System.arraycopy(nodeLabels, index, newLabels, index + 1, nodeLabels.length - index);
+        System.arraycopy(nodeChildren, index, newChildren, index + 1, nodeChildren.length - index);
+        labels[node] = newLabels;
+        children[node] = newChildren;
+        return child;
+    }
+}
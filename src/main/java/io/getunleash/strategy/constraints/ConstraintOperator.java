@@ -2,7 +2,21 @@ package io.getunleash.strategy.constraints;
 
 import io.getunleash.Constraint;
 import io.getunleash.UnleashContext;
+import io.getunleash.lang.Nullable;
 
 public interface ConstraintOperator {
     boolean evaluate(Constraint constraint, UnleashContext context);
+
+    /**
+     * Binds the constraint to this operator, so that its values are parsed once rather than on
+     * every evaluation. The default evaluates the constraint as is on every call.
+     */
+    default PreparedConstraint prepare(Constraint constraint) {
+        return new PreparedConstraint(constraint) {
+            @Override
+            protected boolean matches(@Nullable String contextValue, UnleashContext context) {
+                return ConstraintOperator.this.evaluate(constraint, context);
+            }
+        };
+    }
 }
@@ -3,32 +3,66 @@ package io.getunleash.strategy.constraints;
 import io.getunleash.Constraint;
 import io.getunleash.Operator;
 import io.getunleash.UnleashContext;
+import io.getunleash.lang.Nullable;
 import java.time.ZonedDateTime;
 
 public class DateConstraintOperator implements ConstraintOperator {
+    private static final ThreadLocal<long[]> INSTANT = ThreadLocal.withInitial(() -> new long[2]);
 
     @Override
     public boolean evaluate(Constraint constraint, UnleashContext context) {
-        ZonedDateTime dateToMatch =
-                context.getByName(constraint.getContextName())
-                        .map(DateParser::parseDate)
-                        .orElseGet(() -> context.getCurrentTime().orElseGet(ZonedDateTime::now));
-        try {
-            ZonedDateTime value = DateParser.parseDate(constraint.getValue());
-            return eval(constraint.getOperator(), value, dateToMatch);
-        } catch (Exception e) {
-            return false;
+        return prepare(constraint).matches(context);
+    }
+
+    @Override
+    public PreparedConstraint prepare(Constraint constraint) {
+        long[] instant = new long[2];
+        if (!DateParser.parseInstant(constraint.getValue(), instant)) {
+            // A constraint without a valid date never matches
+            return PreparedConstraint.unsatisfiable(constraint);
         }
+        return new PreparedDate(constraint, instant[0], (int) instant[1]);
     }
 
-    private boolean eval(Operator op, ZonedDateTime value, ZonedDateTime toMatch) {
-        switch (op) {
-            case DATE_AFTER:
-                return toMatch.isAfter(value);
-            case DATE_BEFORE:
-                return toMatch.isBefore(value);
-            default:
-                return false;
+    private static final class PreparedDate extends PreparedConstraint {
+        private final Operator operator;
+        private final long epochSecond;
+        private final int nano;
+
+        private PreparedDate(Constraint constraint, long epochSecond, int nano) {
+            super(constraint);
+            this.operator = constraint.getOperator();
+            this.epochSecond = epochSecond;
+            this.nano = nano;
+        }
+
+        @Override
+        protected boolean matches(@Nullable String contextValue, UnleashContext context) {
+            long[] instant = INSTANT.get();
+            if (!DateParser.parseInstant(contextValue, instant)) {
+                // Without a valid date in the field the current time is matched
+                ZonedDateTime currentTime = context.getCurrentTime().orElse(null);
+                if (currentTime != null) {
+                    instant[0] = currentTime.toEpochSecond();
+                    instant[1] = currentTime.getNano();
+                } else {
+                    long now = System.currentTimeMillis();
+                    instant[0] = Math.floorDiv(now, 1000);
+                    instant[1] = Math.floorMod(now, 1000) * 1_000_000L;
+                }
+            }
+            int comparison =
+                    instant[0] != epochSecond
+                            ? Long.compare(instant[0], epochSecond)
+                            : Long.compare(instant[1], nano);
+            switch (operator) {
+                case DATE_AFTER:
+                    return comparison > 0;
+                case DATE_BEFORE:
+                    return comparison < 0;
+                default:
+                    return false;
+            }
         }
     }
 }
@@ -1,5 +1,6 @@
 package io.getunleash.strategy.constraints;
 
+import io.getunleash.lang.Nullable;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
@@ -7,11 +8,16 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 public class DateParser {
     private static final List<DateTimeFormatter> formatters = new ArrayList<>();
 
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int MAX_OFFSET_SECONDS = 18 * 3600;
+    private static final int[] POWERS_OF_TEN = {
+        1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, 1_000_000_000
+    };
+
     static {
         formatters.add(DateTimeFormatter.ISO_INSTANT);
         formatters.add(DateTimeFormatter.ISO_DATE_TIME);
@@ -20,30 +26,211 @@ public class DateParser {
     }
 
     public static ZonedDateTime parseDate(String date) {
-        if (date != null && date.length() > 0) {
-            return formatters.stream()
-                    .map(
-                            f -> {
-                                try {
-                                    return ZonedDateTime.parse(date, f);
-                                } catch (DateTimeParseException dateTimeParseException) {
-                                    return null;
-                                }
-                            })
-                    .filter(Objects::nonNull)
-                    .findFirst()
-                    .orElseGet(
-                            () -> {
-                                try {
-                                    return LocalDateTime.parse(
-                                                    date, DateTimeFormatter.ISO_LOCAL_DATE_TIME)
-                                            .atZone(ZoneOffset.UTC);
-                                } catch (DateTimeParseException dateTimeParseException) {
-                                    return null;
-                                }
-                            });
-        } else {
+        if (!mayBeDateTime(date)) {
             return null;
         }
+        for (DateTimeFormatter formatter : formatters) {
+            try {
+                return ZonedDateTime.parse(date, formatter);
+            } catch (DateTimeParseException dateTimeParseException) {
+                // Try the next format
+            }
+        }
+        try {
+            return LocalDateTime.parse(date, DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                    .atZone(ZoneOffset.UTC);
+        } catch (DateTimeParseException dateTimeParseException) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the same dates as {@link #parseDate(String)}, as an instant. The usual forms, a date
+     * and time with an optional fraction and an optional offset, are scanned directly; only
+     * unusual ones, such as dates with a zone id, go through the formatters. Text which cannot be
+     * a date is rejected without trying them.
+     *
+     * @param instant receives the epoch second in {@code instant[0]} and the nanosecond within
+     *     that second in {@code instant[1]}
+     * @return whether the text is a date
+     */
+    static boolean parseInstant(@Nullable String date, long[] instant) {
+        if (date == null || !mayBeDateTime(date)) {
+            return false;
+        }
+        if (scanInstant(date, instant)) {
+            return true;
+        }
+        ZonedDateTime parsed = parseDate(date);
+        if (parsed == null) {
+            return false;
+        }
+        instant[0] = parsed.toEpochSecond();
+        instant[1] = parsed.getNano();
+        return true;
+    }
+
+    /** @return false if the text cannot be read by any of the ISO date and time formats */
+    private static boolean mayBeDateTime(@Nullable String date) {
+        if (date == null || date.length() == 0) {
+            return false;
+        }
+        char first = date.charAt(0);
+        if (!isDigit(first) && first != '+' && first != '-') {
+            return false;
+        }
+        return date.indexOf('T') > 0 || date.indexOf('t') > 0;
+    }
+
+    /**
+     * Scans {@code yyyy-MM-ddTHH:mm[:ss[.fraction]][Z|+HH[:mm[:ss]]]} without allocating.
+     *
+     * @return false if the text has another form or is out of range, in which case the
+     *     formatters decide
+     */
+    private static boolean scanInstant(String date, long[] instant) {
+        int length = date.length();
+        if (length < 16
+                || date.charAt(4) != '-'
+                || date.charAt(7) != '-'
+                || (date.charAt(10) | 0x20) != 't'
+                || date.charAt(13) != ':') {
+            return false;
+        }
+        int year = digits(date, 0, 4);
+        int month = digits(date, 5, 2);
+        int day = digits(date, 8, 2);
+        int hour = digits(date, 11, 2);
+        int minute = digits(date, 14, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return false;
+        }
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return false;
+        }
+        int i = 16;
+        int second = 0;
+        int nano = 0;
+        if (i < length && date.charAt(i) == ':') {
+            second = digits(date, i + 1, 2);
+            if (second < 0 || second > 59) {
+                return false;
+            }
+            i += 3;
+            if (i < length && date.charAt(i) == '.') {
+                int start = ++i;
+                while (i < length && isDigit(date.charAt(i))) {
+                    i++;
+                }
+                if (i - start > 9) {
+                    return false;
+                }
+                if (i > start) {
+                    nano = digits(date, start, i - start) * POWERS_OF_TEN[9 - (i - start)];
+                }
+            }
+        }
+        int offsetSeconds = 0;
+        if (i < length) {
+            char c = date.charAt(i);
+            if ((c | 0x20) == 'z') {
+                i++;
+            } else if (c == '+' || c == '-') {
+                int offsetEnd = scanOffset(date, i + 1);
+                if (offsetEnd < 0) {
+                    return false;
+                }
+                offsetSeconds = offsetTotal(date, i + 1, offsetEnd);
+                if (offsetSeconds > MAX_OFFSET_SECONDS) {
+                    return false;
+                }
+                offsetSeconds = c == '-' ? -offsetSeconds : offsetSeconds;
+                i = offsetEnd;
+            }
+        }
+        if (i != length) {
+            return false;
+        }
+        long secondOfDay = hour * 3600L + minute * 60L + second;
+        instant[0] = epochDay(year, month, day) * SECONDS_PER_DAY + secondOfDay - offsetSeconds;
+        instant[1] = nano;
+        return true;
+    }
+
+    /** @return the end of an offset of the form {@code HH[:mm[:ss]]}, or -1 */
+    private static int scanOffset(String date, int start) {
+        int length = date.length();
+        if (start + 2 > length || digits(date, start, 2) < 0) {
+            return -1;
+        }
+        int i = start + 2;
+        for (int part = 0; part < 2 && i < length; part++) {
+            if (date.charAt(i) != ':' || i + 3 > length || digits(date, i + 1, 2) < 0) {
+                return -1;
+            }
+            i += 3;
+        }
+        return i;
+    }
+
+    /** @return the offset in seconds, or more than the maximum if a part is out of range */
+    private static int offsetTotal(String date, int start, int end) {
+        int hours = digits(date, start, 2);
+        int minutes = end > start + 2 ? digits(date, start + 3, 2) : 0;
+        int seconds = end > start + 5 ? digits(date, start + 6, 2) : 0;
+        if (hours > 18 || minutes > 59 || seconds > 59) {
+            return MAX_OFFSET_SECONDS + 1;
+        }
+        return hours * 3600 + minutes * 60 + seconds;
+    }
+
+    /** @return the value of the decimal digits, or -1 if there is anything else */
+    private static int digits(String date, int start, int count) {
+        if (start + count > date.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = date.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /** Same computation as {@link java.time.LocalDate#toEpochDay()}, for years 0 to 9999. */
+    private static long epochDay(int year, int month, int day) {
+        long total = 365L * year;
+        total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!((year % 4 == 0) && (year % 100 != 0 || year % 400 == 0))) {
+                total--;
+            }
+        }
+        return total - 719_528;
     }
 }
@@ -3,58 +3,96 @@ package io.getunleash.strategy.constraints;
 import io.getunleash.Constraint;
 import io.getunleash.Operator;
 import io.getunleash.UnleashContext;
-import java.util.Objects;
+import io.getunleash.lang.Nullable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class NumberConstraintOperator implements ConstraintOperator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NumberConstraintOperator.class);
+
+    /** Parses the values one by one, without collecting them as {@link #prepare} does. */
     @Override
     public boolean evaluate(Constraint constraint, UnleashContext context) {
-        return context.getByName(constraint.getContextName())
-                .map(
-                        cVal -> {
-                            try {
-                                return Double.parseDouble(cVal);
-                            } catch (NumberFormatException nfe) {
-                                return null;
-                            }
-                        })
-                .map(
-                        cVal -> {
-                            try {
-                                if (constraint.getValues().size() > 0) {
-                                    return constraint.getValues().stream()
-                                            .map(
-                                                    v -> {
-                                                        try {
-                                                            return Double.parseDouble(v);
-                                                        } catch (NumberFormatException nfe) {
-                                                            return null;
-                                                        }
-                                                    })
-                                            .filter(Objects::nonNull)
-                                            .anyMatch(v -> eval(constraint.getOperator(), v, cVal));
-                                } else if (constraint.getValue() != null
-                                        && constraint.getValue().length() > 0) {
-                                    Double value = Double.parseDouble(constraint.getValue());
-                                    return eval(constraint.getOperator(), value, cVal);
-                                } else {
-                                    return null;
-                                }
-                            } catch (NumberFormatException nfe) {
-                                return null;
-                            }
-                        })
-                .orElse(false);
+        String contextName = constraint.getContextName();
+        String contextValue = context.get(UnleashContext.slotOf(contextName), contextName);
+        if (contextValue == null) {
+            return false;
+        }
+        double number = NumberParser.parseDouble(contextValue);
+        if (!isNumber(number, contextValue)) {
+            return false;
+        }
+        for (String value : valuesOf(constraint)) {
+            if (value == null) {
+                continue;
+            }
+            double parsed = NumberParser.parseDouble(value);
+            if (isNumber(parsed, value) && eval(constraint.getOperator(), parsed, number)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Parses the constraint values once, values which are not numbers are reported here. */
+    @Override
+    public PreparedConstraint prepare(Constraint constraint) {
+        return new PreparedNumbers(constraint, parseValues(constraint));
+    }
+
+    /** @return the values which are numbers; the single value is used if there is no list */
+    private static double[] parseValues(Constraint constraint) {
+        List<String> values = valuesOf(constraint);
+        double[] result = new double[values.size()];
+        int count = 0;
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            double number = NumberParser.parseDouble(value);
+            if (!isNumber(number, value)) {
+                LOGGER.warn(
+                        "Ignoring value [{}] of the {} constraint on {}, it is not a number",
+                        value,
+                        constraint.getOperator(),
+                        constraint.getContextName());
+                continue;
+            }
+            result[count++] = number;
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /** @return the values, or the single value if there is no list */
+    private static List<String> valuesOf(Constraint constraint) {
+        List<String> values = constraint.getValues();
+        if (values.isEmpty()) {
+            String value = constraint.getValue();
+            if (value == null || value.length() == 0) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(value);
+        }
+        return values;
     }
 
-    private boolean eval(Operator operator, Double value, Double contextValue) {
+    /** @return false if the text was parsed as NaN because it is not a number */
+    private static boolean isNumber(double parsed, String text) {
+        return !Double.isNaN(parsed) || NumberParser.isNaN(text);
+    }
 
+    private static boolean eval(Operator operator, double value, double contextValue) {
         switch (operator) {
             case NUM_LT:
                 return contextValue < value;
             case NUM_LTE:
                 return contextValue <= value;
             case NUM_EQ:
-                return contextValue.equals(value);
+                // Like Double.equals, so NaN equals NaN and 0.0 does not equal -0.0
+                return Double.doubleToLongBits(contextValue) == Double.doubleToLongBits(value);
             case NUM_GTE:
                 return contextValue >= value;
             case NUM_GT:
@@ -63,4 +101,32 @@ public class NumberConstraintOperator implements ConstraintOperator {
                 return false;
         }
     }
+
+    private static final class PreparedNumbers extends PreparedConstraint {
+        private final Operator operator;
+        private final double[] values;
+
+        private PreparedNumbers(Constraint constraint, double[] values) {
+            super(constraint);
+            this.operator = constraint.getOperator();
+            this.values = values;
+        }
+
+        @Override
+        protected boolean matches(@Nullable String contextValue, UnleashContext context) {
+            if (contextValue == null) {
+                return false;
+            }
+            double number = NumberParser.parseDouble(contextValue);
+            if (!isNumber(number, contextValue)) {
+                return false;
+            }
+            for (double value : values) {
+                if (eval(operator, value, number)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
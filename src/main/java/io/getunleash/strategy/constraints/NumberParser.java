@@ -0,0 +1,187 @@
+package io.getunleash.strategy.constraints;
+
+/**
+ * Reads numbers the way {@link Double#parseDouble(String)} does, but reports text that is not a
+ * number by returning NaN instead of throwing. Plain decimals with up to 15 significant digits and
+ * small exponents are converted directly, which is exact for them; other valid numbers are handed
+ * to {@code Double.parseDouble} once the text is known to be valid.
+ */
+final class NumberParser {
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+        1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private NumberParser() {}
+
+    /**
+     * @return the number, or NaN if the text is not a number; see {@link #isNaN(String)} to tell
+     *     the two apart
+     */
+    static double parseDouble(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return Double.NaN;
+        }
+        int i = start;
+        boolean negative = false;
+        char c = text.charAt(i);
+        if (c == '+' || c == '-') {
+            negative = c == '-';
+            if (++i == end) {
+                return Double.NaN;
+            }
+            c = text.charAt(i);
+        }
+        if (c == 'I') {
+            if (!matches(text, i, end, "Infinity")) {
+                return Double.NaN;
+            }
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        if (c == '0' && i + 1 < end && (text.charAt(i + 1) | 0x20) == 'x') {
+            return isHexadecimal(text, i + 2, end) ? Double.parseDouble(text) : Double.NaN;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        for (; i < end && isDigit(c = text.charAt(i)); i++) {
+            anyDigit = true;
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+            } else {
+                exponent++;
+            }
+        }
+        if (i < end && text.charAt(i) == '.') {
+            for (i++; i < end && isDigit(c = text.charAt(i)); i++) {
+                anyDigit = true;
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    exponent--;
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                }
+            }
+        }
+        if (!anyDigit) {
+            return Double.NaN;
+        }
+        if (i < end && (text.charAt(i) | 0x20) == 'e') {
+            int exponentEnd = skipSignedDigits(text, i + 1, end);
+            if (exponentEnd < 0) {
+                return Double.NaN;
+            }
+            exponent += readExponent(text, i + 1, exponentEnd);
+            i = exponentEnd;
+        }
+        if (i < end && isSuffix(text.charAt(i))) {
+            i++;
+        }
+        if (i != end) {
+            return Double.NaN;
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0d : 0.0d;
+        }
+        if (digits <= MAX_FAST_DIGITS && exponent >= -22 && exponent <= 22) {
+            double value =
+                    exponent < 0
+                            ? mantissa / POWERS_OF_TEN[-exponent]
+                            : mantissa * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        // The text is a valid number, so this does not throw
+        return Double.parseDouble(text);
+    }
+
+    /** @return whether the text is one of the spellings of NaN {@code Double.parseDouble} reads */
+    static boolean isNaN(String text) {
+        String trimmed = text.trim();
+        int start = trimmed.startsWith("+") || trimmed.startsWith("-") ? 1 : 0;
+        return matches(trimmed, start, trimmed.length(), "NaN");
+    }
+
+    private static boolean isHexadecimal(String text, int start, int end) {
+        int i = start;
+        boolean anyDigit = false;
+        while (i < end && isHexDigit(text.charAt(i))) {
+            anyDigit = true;
+            i++;
+        }
+        if (i < end && text.charAt(i) == '.') {
+            i++;
+            while (i < end && isHexDigit(text.charAt(i))) {
+                anyDigit = true;
+                i++;
+            }
+        }
+        // Unlike decimals, hexadecimal numbers need their binary exponent
+        if (!anyDigit || i == end || (text.charAt(i) | 0x20) != 'p') {
+            return false;
+        }
+        i = skipSignedDigits(text, i + 1, end);
+        if (i >= 0 && i < end && isSuffix(text.charAt(i))) {
+            i++;
+        }
+        return i == end;
+    }
+
+    /** @return the index after the optionally signed digits, or -1 if there are no digits */
+    private static int skipSignedDigits(String text, int start, int end) {
+        int i = start;
+        if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+            i++;
+        }
+        int digitsStart = i;
+        while (i < end && isDigit(text.charAt(i))) {
+            i++;
+        }
+        return i == digitsStart ? -1 : i;
+    }
+
+    private static int readExponent(String text, int start, int end) {
+        boolean negative = text.charAt(start) == '-';
+        int exponent = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            // Anything this large is out of the fast path's range already
+            if (isDigit(c) && exponent < 100_000) {
+                exponent = exponent * 10 + (c - '0');
+            }
+        }
+        return negative ? -exponent : exponent;
+    }
+
+    private static boolean matches(String text, int start, int end, String expected) {
+        return end - start == expected.length()
+                && text.regionMatches(start, expected, 0, expected.length());
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || ((c | 0x20) >= 'a' && (c | 0x20) <= 'f');
+    }
+
+    private static boolean isSuffix(char c) {
+        return c == 'd' || c == 'D' || c == 'f' || c == 'F';
+    }
+}
@@ -0,0 +1,48 @@
+package io.getunleash.strategy.constraints;
+
+import io.getunleash.Constraint;
+import io.getunleash.UnleashContext;
+import io.getunleash.lang.Nullable;
+
+/**
+ * A {@link Constraint} bound to its operator, with its values parsed and the context field it reads
+ * resolved to a slot. Instances are immutable and built once per feature snapshot by {@link
+ * ConstraintOperator#prepare(Constraint)}.
+ */
+public abstract class PreparedConstraint {
+    private final String contextName;
+    private final int slot;
+    private final boolean inverted;
+
+    protected PreparedConstraint(Constraint constraint) {
+        this.contextName = constraint.getContextName();
+        this.slot = UnleashContext.slotOf(contextName);
+        this.inverted = constraint.isInverted();
+    }
+
+    /** @return whether the context satisfies the constraint, taking its inversion into account */
+    public final boolean evaluate(UnleashContext context) {
+        return inverted ^ matches(context.get(slot, contextName), context);
+    }
+
+    /** @return whether the context satisfies the operator, ignoring the inversion */
+    final boolean matches(UnleashContext context) {
+        return matches(context.get(slot, contextName), context);
+    }
+
+    /**
+     * @param contextValue the value of the constrained context field, or null if it is not set
+     * @param context the context being evaluated, for operators that read more than the field
+     */
+    protected abstract boolean matches(@Nullable String contextValue, UnleashContext context);
+
+    /** @return a constraint whose operator never matches, e.g. one it was not built for */
+    static PreparedConstraint unsatisfiable(Constraint constraint) {
+        return new PreparedConstraint(constraint) {
+            @Override
+            protected boolean matches(@Nullable String contextValue, UnleashContext context) {
+                return false;
+            }
+        };
+    }
+}
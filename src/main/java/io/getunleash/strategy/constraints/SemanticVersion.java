@@ -1,17 +1,14 @@
 package io.getunleash.strategy.constraints;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import io.getunleash.lang.Nullable;
 
 /**
  * Simple implementation of semantic version parsing and comparison according to the Semantic
  * Versions 2.0.0 standard (http://semver.org).
  */
 public class SemanticVersion implements Comparable<SemanticVersion> {
-    private static Pattern VERSION_REGEX =
-            Pattern.compile(
-                    "^(?<major>0|[1-9]\\d*)(\\.(?<minor>0|[1-9]\\d*))?(\\.(?<patch>0|[1-9]\\d*))?"
-                            + "(\\-(?<prerel>[0-9A-Za-z\\-\\.]+))?(\\+(?<build>[0-9A-Za-z\\-\\.]+))?$");
+    // Marks pre-release identifiers which are not numbers
+    private static final long NOT_NUMERIC = Long.MIN_VALUE;
 
     public static class InvalidVersionException extends Exception {
         public InvalidVersionException(String message) {
@@ -24,6 +21,7 @@ public class SemanticVersion implements Comparable<SemanticVersion> {
     private final int patch;
     private final String preRelease;
     private final String[] preReleaseComponents;
+    private final long[] preReleaseNumbers;
     private final String build;
 
     public SemanticVersion(int major, int minor, int patch, String preRelease, String build) {
@@ -32,6 +30,7 @@ public class SemanticVersion implements Comparable<SemanticVersion> {
         this.patch = patch;
         this.preRelease = preRelease;
         this.preReleaseComponents = preRelease == null ? null : preRelease.split("\\.");
+        this.preReleaseNumbers = numbersOf(preReleaseComponents);
         this.build = build;
     }
 
@@ -82,30 +81,115 @@ public class SemanticVersion implements Comparable<SemanticVersion> {
      */
     public static SemanticVersion parse(String input, boolean allowMissingMinorAndPatch)
             throws InvalidVersionException {
-        Matcher matcher = VERSION_REGEX.matcher(input);
-        if (!matcher.matches()) {
+        SemanticVersion version = tryParse(input, allowMissingMinorAndPatch);
+        if (version == null) {
             throw new InvalidVersionException("Invalid semantic version");
         }
-        int major, minor, patch;
-        try {
-            major = Integer.parseInt(matcher.group("major"));
-            if (!allowMissingMinorAndPatch) {
-                if (matcher.group("minor") == null || matcher.group("patch") == null) {
-                    throw new InvalidVersionException("Invalid semantic version");
-                }
+        return version;
+    }
+
+    /**
+     * Like {@link #parse(String, boolean)}, but reports an invalid version by returning null.
+     * Versions are read by a scanner accepting exactly what the Semver 2.0.0 grammar accepts.
+     */
+    static @Nullable SemanticVersion tryParse(String input, boolean allowMissingMinorAndPatch) {
+        int length = input.length();
+        int end = numberEnd(input, 0);
+        if (end < 0) {
+            return null;
+        }
+        int major = valueOf(input, 0, end);
+        int minor = 0;
+        int patch = 0;
+        int parts = 1;
+        while (parts < 3 && end < length && input.charAt(end) == '.') {
+            int start = end + 1;
+            end = numberEnd(input, start);
+            if (end < 0) {
+                return null;
             }
-            minor = matcher.group("minor") == null ? 0 : Integer.parseInt(matcher.group("minor"));
-            patch = matcher.group("patch") == null ? 0 : Integer.parseInt(matcher.group("patch"));
-        } catch (NumberFormatException e) {
-            // COVERAGE: This should be impossible, because our regex should only match if these
-            // strings are numeric.
-            throw new InvalidVersionException("Invalid semantic version");
+            if (parts++ == 1) {
+                minor = valueOf(input, start, end);
+            } else {
+                patch = valueOf(input, start, end);
+            }
+        }
+        if (parts < 3 && !allowMissingMinorAndPatch) {
+            return null;
+        }
+        String prerelease = null;
+        if (end < length && input.charAt(end) == '-') {
+            int start = end + 1;
+            end = identifiersEnd(input, start);
+            if (end == start) {
+                return null;
+            }
+            prerelease = input.substring(start, end);
+        }
+        String build = null;
+        if (end < length && input.charAt(end) == '+') {
+            int start = end + 1;
+            end = identifiersEnd(input, start);
+            if (end == start) {
+                return null;
+            }
+            build = input.substring(start, end);
+        }
+        if (end != length) {
+            return null;
         }
-        String prerelease = matcher.group("prerel");
-        String build = matcher.group("build");
         return new SemanticVersion(major, minor, patch, prerelease, build);
     }
 
+    /**
+     * @return the end of the version number starting at {@code start}, or -1 if there is none, it
+     *     has a leading zero or does not fit an int
+     */
+    private static int numberEnd(String input, int start) {
+        int i = start;
+        long value = 0;
+        while (i < input.length() && isDigit(input.charAt(i))) {
+            value = value * 10 + (input.charAt(i) - '0');
+            if (value > Integer.MAX_VALUE) {
+                return -1;
+            }
+            i++;
+        }
+        if (i == start || (input.charAt(start) == '0' && i - start > 1)) {
+            return -1;
+        }
+        return i;
+    }
+
+    private static int valueOf(String input, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (input.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    /** @return the end of the run of identifier characters and dots starting at {@code start} */
+    private static int identifiersEnd(String input, int start) {
+        int i = start;
+        while (i < input.length()) {
+            char c = input.charAt(i);
+            if (!isDigit(c)
+                    && !(c >= 'A' && c <= 'Z')
+                    && !(c >= 'a' && c <= 'z')
+                    && c != '-'
+                    && c != '.') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
     @Override
     public int compareTo(SemanticVersion other) {
         return comparePrecedence(other);
@@ -141,10 +225,12 @@ public class SemanticVersion implements Comparable<SemanticVersion> {
         if (other.preRelease == null) {
             return -1;
         }
-        return compareIdentifiers(preReleaseComponents, other.preReleaseComponents);
+        return compareIdentifiers(other);
     }
 
-    private int compareIdentifiers(String[] ids1, String[] ids2) {
+    private int compareIdentifiers(SemanticVersion other) {
+        String[] ids1 = preReleaseComponents;
+        String[] ids2 = other.preReleaseComponents;
         for (int i = 0; ; i++) {
             if (i >= ids1.length) {
                 // x.y is always less than x.y.z
@@ -156,22 +242,13 @@ public class SemanticVersion implements Comparable<SemanticVersion> {
             // each sub-identifier is compared numerically if both are numeric; if both are
             // non-numeric,
             // they're compared as strings; otherwise, the numeric one is the lesser one
-            int n1 = 0, n2 = 0, d;
-            boolean isNum1, isNum2;
-            try {
-                n1 = Integer.parseInt(ids1[i]);
-                isNum1 = true;
-            } catch (NumberFormatException e) {
-                isNum1 = false;
-            }
-            try {
-                n2 = Integer.parseInt(ids2[i]);
-                isNum2 = true;
-            } catch (NumberFormatException e) {
-                isNum2 = false;
-            }
+            long n1 = preReleaseNumbers[i];
+            long n2 = other.preReleaseNumbers[i];
+            boolean isNum1 = n1 != NOT_NUMERIC;
+            boolean isNum2 = n2 != NOT_NUMERIC;
+            int d;
             if (isNum1 && isNum2) {
-                d = Integer.compare(n1, n2);
+                d = Long.compare(n1, n2);
             } else {
                 d = isNum1 ? -1 : (isNum2 ? 1 : ids1[i].compareTo(ids2[i]));
             }
@@ -180,4 +257,40 @@ public class SemanticVersion implements Comparable<SemanticVersion> {
             }
         }
     }
+
+    /** @return the identifiers as read by {@link Integer#parseInt(String)}, without throwing */
+    private static long[] numbersOf(String[] identifiers) {
+        if (identifiers == null) {
+            return null;
+        }
+        long[] numbers = new long[identifiers.length];
+        for (int i = 0; i < identifiers.length; i++) {
+            numbers[i] = numberOf(identifiers[i]);
+        }
+        return numbers;
+    }
+
+    private static long numberOf(String identifier) {
+        int length = identifier.length();
+        int start = 0;
+        if (length > 0 && (identifier.charAt(0) == '-' || identifier.charAt(0) == '+')) {
+            start = 1;
+        }
+        if (start == length) {
+            return NOT_NUMERIC;
+        }
+        long value = 0;
+        for (int i = start; i < length; i++) {
+            int digit = Character.digit(identifier.charAt(i), 10);
+            if (digit < 0) {
+                return NOT_NUMERIC;
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                return NOT_NUMERIC;
+            }
+        }
+        value = identifier.charAt(0) == '-' ? -value : value;
+        return value > Integer.MAX_VALUE ? NOT_NUMERIC : value;
+    }
 }
@@ -3,68 +3,102 @@ package io.getunleash.strategy.constraints;
 import io.getunleash.Constraint;
 import io.getunleash.Operator;
 import io.getunleash.UnleashContext;
-import java.util.Objects;
+import io.getunleash.lang.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class SemverConstraintOperator implements ConstraintOperator {
     private static final Logger LOGGER = LoggerFactory.getLogger(SemverConstraintOperator.class);
 
+    // A power of two; applications report few distinct versions, so a small cache covers them
+    private static final int CONTEXT_VERSION_CACHE_SIZE = 64;
+    // Direct-mapped by hash, an entry is replaced by the next value hashing to its index
+    private static final ParsedVersion[] CONTEXT_VERSIONS =
+            new ParsedVersion[CONTEXT_VERSION_CACHE_SIZE];
+
+    /** Parses the values one by one, without collecting them as {@link #prepare} does. */
     @Override
     public boolean evaluate(Constraint constraint, UnleashContext context) {
-        return context.getByName(constraint.getContextName())
-                .map(
-                        contextValue -> {
-                            try {
-                                return SemanticVersion.parse(contextValue);
-                            } catch (
-                                    SemanticVersion.InvalidVersionException
-                                            invalidVersionException) {
-                                LOGGER.info(
-                                        "Couldn't parse version [{}] from context - This is dynamic on evaluation, might not be your fault",
-                                        contextValue);
-                                return null;
-                            }
-                        })
-                .map(
-                        contextVersion -> {
-                            try {
-                                if (constraint.getValues().size() > 0) {
-                                    return constraint.getValues().stream()
-                                            .map(
-                                                    v -> {
-                                                        try {
-                                                            return SemanticVersion.parse(v);
-                                                        } catch (
-                                                                SemanticVersion
-                                                                                .InvalidVersionException
-                                                                        e) {
-                                                            return null;
-                                                        }
-                                                    })
-                                            .filter(Objects::nonNull)
-                                            .anyMatch(
-                                                    v ->
-                                                            eval(
-                                                                    constraint.getOperator(),
-                                                                    v,
-                                                                    contextVersion));
-                                } else if (constraint.getValue() != null
-                                        && constraint.getValue().length() > 0) {
-                                    SemanticVersion value =
-                                            SemanticVersion.parse(constraint.getValue());
-                                    return eval(constraint.getOperator(), value, contextVersion);
-                                } else {
-                                    return null;
-                                }
-                            } catch (SemanticVersion.InvalidVersionException ive) {
-                                return null;
-                            }
-                        })
-                .orElse(false);
+        String contextName = constraint.getContextName();
+        String contextValue = context.get(UnleashContext.slotOf(contextName), contextName);
+        if (contextValue == null) {
+            return false;
+        }
+        SemanticVersion contextVersion = parseContextVersion(contextValue);
+        if (contextVersion == null) {
+            return false;
+        }
+        for (String value : valuesOf(constraint)) {
+            SemanticVersion version = parse(value);
+            if (version != null && eval(constraint.getOperator(), version, contextVersion)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public PreparedConstraint prepare(Constraint constraint) {
+        return new PreparedVersions(constraint, parseValues(constraint));
+    }
+
+    /** @return the values which are versions */
+    private static SemanticVersion[] parseValues(Constraint constraint) {
+        List<String> values = valuesOf(constraint);
+        List<SemanticVersion> versions = new ArrayList<>(values.size());
+        for (String value : values) {
+            SemanticVersion version = parse(value);
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        return versions.toArray(new SemanticVersion[0]);
+    }
+
+    /** @return the values, or the single value if there is no list */
+    private static List<String> valuesOf(Constraint constraint) {
+        List<String> values = constraint.getValues();
+        if (values.isEmpty()) {
+            String value = constraint.getValue();
+            if (value == null || value.length() == 0) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(value);
+        }
+        return values;
+    }
+
+    private static @Nullable SemanticVersion parse(@Nullable String value) {
+        return value == null ? null : SemanticVersion.tryParse(value, false);
     }
 
-    private boolean eval(Operator operator, SemanticVersion value, SemanticVersion contextVersion) {
+    /**
+     * Parses a version from the context through the cache. An invalid version is logged when it is
+     * parsed, not every time it is evaluated.
+     */
+    private static @Nullable SemanticVersion parseContextVersion(String contextValue) {
+        int hash = contextValue.hashCode();
+        int index = (hash ^ (hash >>> 16)) & (CONTEXT_VERSION_CACHE_SIZE - 1);
+        ParsedVersion cached = CONTEXT_VERSIONS[index];
+        if (cached != null && cached.text.equals(contextValue)) {
+            return cached.version;
+        }
+        SemanticVersion version = parse(contextValue);
+        if (version == null) {
+            LOGGER.info(
+                    "Couldn't parse version [{}] from context - This is dynamic on evaluation, might not be your fault",
+                    contextValue);
+        }
+        // Entries are immutable, so racing writers at worst replace each other
+        CONTEXT_VERSIONS[index] = new ParsedVersion(contextValue, version);
+        return version;
+    }
+
+    private static boolean eval(
+            Operator operator, SemanticVersion value, SemanticVersion contextVersion) {
         switch (operator) {
             case SEMVER_LT:
                 return contextVersion.compareTo(value) < 0;
@@ -76,4 +110,42 @@ public class SemverConstraintOperator implements ConstraintOperator {
                 return false;
         }
     }
+
+    private static final class PreparedVersions extends PreparedConstraint {
+        private final Operator operator;
+        private final SemanticVersion[] values;
+
+        private PreparedVersions(Constraint constraint, SemanticVersion[] values) {
+            super(constraint);
+            this.operator = constraint.getOperator();
+            this.values = values;
+        }
+
+        @Override
+        protected boolean matches(@Nullable String contextValue, UnleashContext context) {
+            if (contextValue == null) {
+                return false;
+            }
+            SemanticVersion contextVersion = parseContextVersion(contextValue);
+            if (contextVersion == null) {
+                return false;
+            }
+            for (SemanticVersion value : values) {
+                if (eval(operator, value, contextVersion)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class ParsedVersion {
+        private final String text;
+        @Nullable private final SemanticVersion version;
+
+        private ParsedVersion(String text, @Nullable SemanticVersion version) {
+            this.text = text;
+            this.version = version;
+        }
+    }
 }
@@ -1,111 +1,285 @@
 package io.getunleash.strategy.constraints;
 
 import io.getunleash.Constraint;
+import io.getunleash.Operator;
 import io.getunleash.UnleashContext;
+import io.getunleash.lang.Nullable;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
+import java.util.Set;
 
 public class StringConstraintOperator implements ConstraintOperator {
+    // Up to this many values are matched one by one, more are compiled into a trie or automaton
+    private static final int MAX_SCANNED_VALUES = 4;
+
     private Locale comparisonLocale;
 
     public StringConstraintOperator(Locale comparisonLocale) {
         this.comparisonLocale = comparisonLocale;
     }
 
+    /**
+     * Matches the values one by one. Building the hash set, trie or automaton of {@link
+     * #prepare(Constraint)} only pays off when a constraint is evaluated many times.
+     */
     @Override
     public boolean evaluate(Constraint constraint, UnleashContext context) {
-        List<String> values = constraint.getValues();
-        Optional<String> contextValue = context.getByName(constraint.getContextName());
+        String contextName = constraint.getContextName();
+        String contextValue = context.get(UnleashContext.slotOf(contextName), contextName);
+        switch (constraint.getOperator()) {
+            case IN:
+                return isIn(constraint, contextValue);
+            case NOT_IN:
+                return !isIn(constraint, contextValue);
+            case STR_CONTAINS:
+            case STR_STARTS_WITH:
+            case STR_ENDS_WITH:
+                return contextValue != null && matchesAny(constraint, contextValue);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isIn(Constraint constraint, @Nullable String contextValue) {
+        if (contextValue == null) {
+            return false;
+        }
+        boolean caseInsensitive = constraint.isCaseInsensitive();
+        for (String value : constraint.getValues()) {
+            if (value != null
+                    && (caseInsensitive
+                            ? value.equalsIgnoreCase(contextValue)
+                            : value.equals(contextValue))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesAny(Constraint constraint, String contextValue) {
+        boolean caseInsensitive = constraint.isCaseInsensitive();
+        if (caseInsensitive) {
+            contextValue = contextValue.toLowerCase(comparisonLocale);
+        }
+        for (String value : constraint.getValues()) {
+            if (value != null
+                    && matches(
+                            constraint.getOperator(),
+                            caseInsensitive ? value.toLowerCase(comparisonLocale) : value,
+                            contextValue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(Operator operator, String value, String contextValue) {
+        switch (operator) {
+            case STR_CONTAINS:
+                return contextValue.contains(value);
+            case STR_STARTS_WITH:
+                return contextValue.startsWith(value);
+            case STR_ENDS_WITH:
+                return contextValue.endsWith(value);
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public PreparedConstraint prepare(Constraint constraint) {
         boolean caseInsensitive = constraint.isCaseInsensitive();
         switch (constraint.getOperator()) {
             case IN:
-                return isIn(values, contextValue, caseInsensitive);
+                return new In(constraint, values(constraint, false), caseInsensitive, false);
             case NOT_IN:
-                return !isIn(values, contextValue, caseInsensitive);
+                return new In(constraint, values(constraint, false), caseInsensitive, true);
             case STR_CONTAINS:
-                return contains(values, contextValue, caseInsensitive);
+                return new Contains(constraint, values(constraint, caseInsensitive));
             case STR_STARTS_WITH:
-                return startsWith(values, contextValue, caseInsensitive);
+                return new StartsWith(constraint, values(constraint, caseInsensitive));
             case STR_ENDS_WITH:
-                return endsWith(values, contextValue, caseInsensitive);
+                return new EndsWith(constraint, values(constraint, caseInsensitive));
             default:
+                return PreparedConstraint.unsatisfiable(constraint);
+        }
+    }
+
+    private String[] values(Constraint constraint, boolean fold) {
+        List<String> values = constraint.getValues();
+        String[] result = new String[values.size()];
+        int count = 0;
+        for (String value : values) {
+            if (value != null) {
+                result[count++] = fold ? value.toLowerCase(comparisonLocale) : value;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Folds the case of the text so that two strings are equal once folded exactly when {@link
+     * String#equalsIgnoreCase(String)} considers them equal.
+     *
+     * @return the folded text, the text itself if folding does not change it
+     */
+    static String foldCase(String text) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            if (foldCase(codePoint) != codePoint) {
+                break;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (i == length) {
+            return text;
+        }
+        StringBuilder folded = new StringBuilder(length).append(text, 0, i);
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            folded.appendCodePoint(foldCase(codePoint));
+            i += Character.charCount(codePoint);
+        }
+        return folded.toString();
+    }
+
+    private static int foldCase(int codePoint) {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+
+    /** Looks the context value up in a hash set of the values, folded if case is ignored. */
+    private static final class In extends PreparedConstraint {
+        private final Set<String> values;
+        private final boolean caseInsensitive;
+        private final boolean negated;
+
+        private In(
+                Constraint constraint, String[] values, boolean caseInsensitive, boolean negated) {
+            super(constraint);
+            Set<String> set = new HashSet<>(Math.max(16, values.length * 4 / 3 + 1));
+            for (String value : values) {
+                set.add(caseInsensitive ? foldCase(value) : value);
+            }
+            this.values = set;
+            this.caseInsensitive = caseInsensitive;
+            this.negated = negated;
+        }
+
+        @Override
+        protected boolean matches(@Nullable String contextValue, UnleashContext context) {
+            return negated ^ isIn(contextValue);
+        }
+
+        private boolean isIn(@Nullable String contextValue) {
+            if (contextValue == null) {
+                return false;
+            }
+            return values.contains(caseInsensitive ? foldCase(contextValue) : contextValue);
+        }
+    }
+
+    /** Matches the context value against values which were lower-cased if case is ignored. */
+    private abstract class FoldedMatch extends PreparedConstraint {
+        private final boolean caseInsensitive;
+
+        FoldedMatch(Constraint constraint) {
+            super(constraint);
+            this.caseInsensitive = constraint.isCaseInsensitive();
+        }
+
+        @Override
+        protected final boolean matches(@Nullable String contextValue, UnleashContext context) {
+            if (contextValue == null) {
                 return false;
+            }
+            return matchesAny(
+                    caseInsensitive ? contextValue.toLowerCase(comparisonLocale) : contextValue);
         }
+
+        abstract boolean matchesAny(String contextValue);
     }
 
-    private boolean endsWith(
-            List<String> values, Optional<String> contextValue, boolean caseInsensitive) {
-        return contextValue
-                .map(
-                        c ->
-                                values.stream()
-                                        .anyMatch(
-                                                v -> {
-                                                    if (caseInsensitive) {
-                                                        return c.toLowerCase(comparisonLocale)
-                                                                .endsWith(
-                                                                        v.toLowerCase(
-                                                                                comparisonLocale));
-                                                    } else {
-                                                        return c.endsWith(v);
-                                                    }
-                                                }))
-                .orElse(false);
+    private final class Contains extends FoldedMatch {
+        private final String[] values;
+        @Nullable private final AhoCorasick automaton;
+
+        Contains(Constraint constraint, String[] values) {
+            super(constraint);
+            this.values = values;
+            this.automaton = values.length > MAX_SCANNED_VALUES ? new AhoCorasick(values) : null;
+        }
+
+        @Override
+        boolean matchesAny(String contextValue) {
+            if (automaton != null) {
+                return automaton.containsAny(contextValue);
+            }
+            for (String value : values) {
+                if (contextValue.contains(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 
-    private boolean startsWith(
-            List<String> values, Optional<String> contextValue, boolean caseInsensitive) {
-        return contextValue
-                .map(
-                        c ->
-                                values.stream()
-                                        .anyMatch(
-                                                v -> {
-                                                    if (caseInsensitive) {
-                                                        return v.toLowerCase(comparisonLocale)
-                                                                .startsWith(
-                                                                        c.toLowerCase(
-                                                                                comparisonLocale));
-                                                    } else {
-                                                        return c.startsWith(v);
-                                                    }
-                                                }))
-                .orElse(false);
+    private final class StartsWith extends FoldedMatch {
+        private final String[] values;
+        @Nullable private final CharTrie prefixes;
+
+        StartsWith(Constraint constraint, String[] values) {
+            super(constraint);
+            this.values = values;
+            this.prefixes = values.length > MAX_SCANNED_VALUES ? trieOf(values, false) : null;
+        }
+
+        @Override
+        boolean matchesAny(String contextValue) {
+            if (prefixes != null) {
+                return prefixes.matchesPrefixOf(contextValue);
+            }
+            for (String value : values) {
+                if (contextValue.startsWith(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 
-    private boolean contains(
-            List<String> values, Optional<String> contextValue, boolean caseInsensitive) {
-        return contextValue
-                .map(
-                        c ->
-                                values.stream()
-                                        .anyMatch(
-                                                v -> {
-                                                    if (caseInsensitive) {
-                                                        return c.toLowerCase(comparisonLocale)
-                                                                .contains(
-                                                                        v.toLowerCase(
-                                                                                comparisonLocale));
-                                                    } else {
-                                                        return c.contains(v);
-                                                    }
-                                                }))
-                .orElse(false);
+    private final class EndsWith extends FoldedMatch {
+        private final String[] values;
+        @Nullable private final CharTrie suffixes;
+
+        EndsWith(Constraint constraint, String[] values) {
+            super(constraint);
+            this.values = values;
+            this.suffixes = values.length > MAX_SCANNED_VALUES ? trieOf(values, true) : null;
+        }
+
+        @Override
+        boolean matchesAny(String contextValue) {
+            if (suffixes != null) {
+                return suffixes.matchesSuffixOf(contextValue);
+            }
+            for (String value : values) {
+                if (contextValue.endsWith(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 
-    private boolean isIn(List<String> values, Optional<String> value, boolean caseInsensitive) {
-        return value.map(
-                        v ->
-                                values.stream()
-                                        .anyMatch(
-                                                c -> {
-                                                    if (caseInsensitive) {
-                                                        return c.equalsIgnoreCase(v);
-                                                    } else {
-                                                        return c.equals(v);
-                                                    }
-                                                }))
-                .orElse(false);
+    private static CharTrie trieOf(String[] values, boolean reversed) {
+        CharTrie trie = new CharTrie();
+        for (String value : values) {
+            trie.add(value, reversed);
+        }
+        return trie;
     }
 }
@@ -5,24 +5,29 @@ import io.getunleash.Constraint;
 import io.getunleash.Segment;
 import io.getunleash.repository.FeatureRepository;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Function;
 
 public class ConstraintMerger {
     public static List<Constraint> mergeConstraints(
             FeatureRepository repository, ActivationStrategy strategy) {
-        return Stream.of(
-                        Optional.ofNullable(strategy.getConstraints())
-                                .orElseGet(Collections::emptyList),
-                        Optional.ofNullable(strategy.getSegments())
-                                .orElseGet(Collections::emptyList)
-                                .stream()
-                                .map(repository::getSegment)
-                                .filter(Objects::nonNull)
-                                .map(Segment::getConstraints)
-                                .flatMap(Collection::stream)
-                                .collect(Collectors.toList()))
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+        return repository
+                .getMergedConstraints(strategy)
+                .orElseGet(() -> mergeConstraints(repository::getSegment, strategy));
+    }
+
+    public static List<Constraint> mergeConstraints(
+            Function<Integer, Segment> segmentLookup, ActivationStrategy strategy) {
+        List<Constraint> constraints =
+                Optional.ofNullable(strategy.getConstraints()).orElseGet(Collections::emptyList);
+        List<Integer> segmentIds =
+                Optional.ofNullable(strategy.getSegments()).orElseGet(Collections::emptyList);
+        List<Constraint> merged = new ArrayList<>(constraints);
+        for (Integer segmentId : segmentIds) {
+            Segment segment = segmentLookup.apply(segmentId);
+            if (segment != null && segment.getConstraints() != null) {
+                merged.addAll(segment.getConstraints());
+            }
+        }
+        return merged;
     }
 }
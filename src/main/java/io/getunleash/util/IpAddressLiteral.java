@@ -0,0 +1,195 @@
+package io.getunleash.util;
+
+/**
+ * Parses textual IPv4 and IPv6 addresses into primitive words without going through {@link
+ * java.net.InetAddress}, so parsing never resolves host names and never allocates. Only address
+ * literals are accepted: dotted quads and the RFC 4291 IPv6 forms, optionally in brackets, with a
+ * zone id or with an embedded IPv4 address. Like {@code InetAddress}, IPv4-mapped IPv6 addresses
+ * are reported as IPv4 addresses.
+ */
+public final class IpAddressLiteral {
+    public static final int INVALID = 0;
+    public static final int IPV4 = 4;
+    public static final int IPV6 = 6;
+
+    private IpAddressLiteral() {}
+
+    /** @see #parse(CharSequence, int, int, long[]) */
+    public static int parse(CharSequence text, long[] words) {
+        return parse(text, 0, text.length(), words);
+    }
+
+    /**
+     * Parses the address between {@code start} and {@code end}. An IPv6 address is stored with its
+     * high 64 bits in {@code words[0]} and its low 64 bits in {@code words[1]}; an IPv4 address is
+     * stored as an unsigned value in {@code words[1]} with {@code words[0]} set to zero.
+     *
+     * @param words receives the address, must have room for two words
+     * @return {@link #IPV4}, {@link #IPV6}, or {@link #INVALID} if the text is not an address
+     *     literal, in which case {@code words} is left in an unspecified state
+     */
+    public static int parse(CharSequence text, int start, int end, long[] words) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == ':') {
+                return parseIpv6(text, start, end, words);
+            }
+        }
+        long ipv4 = parseIpv4(text, start, end);
+        if (ipv4 < 0) {
+            return INVALID;
+        }
+        words[0] = 0;
+        words[1] = ipv4;
+        return IPV4;
+    }
+
+    /** @return the address as an unsigned 32 bit value, or -1 if the text is not a dotted quad */
+    public static long parseIpv4(CharSequence text, int start, int end) {
+        long address = 0;
+        int parts = 0;
+        int i = start;
+        while (i < end) {
+            int partStart = i;
+            int value = 0;
+            while (i < end && i - partStart < 3) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+                i++;
+            }
+            if (i == partStart || value > 255 || ++parts > 4) {
+                return -1;
+            }
+            address = address << 8 | value;
+            if (i < end) {
+                if (text.charAt(i) != '.' || ++i == end) {
+                    return -1;
+                }
+            }
+        }
+        return parts == 4 ? address : -1;
+    }
+
+    private static int parseIpv6(CharSequence text, int start, int end, long[] words) {
+        if (end - start >= 2 && text.charAt(start) == '[' && text.charAt(end - 1) == ']') {
+            start++;
+            end--;
+        }
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == '%') {
+                if (i == end - 1) {
+                    return INVALID;
+                }
+                end = i;
+                break;
+            }
+        }
+        long high = 0;
+        long low = 0;
+        int groups = 0;
+        int compressedAt = -1;
+        int i = start;
+        if (i < end && text.charAt(i) == ':') {
+            if (i + 1 == end || text.charAt(i + 1) != ':') {
+                return INVALID;
+            }
+            compressedAt = 0;
+            i += 2;
+        }
+        while (i < end) {
+            int groupStart = i;
+            int value = 0;
+            int digit;
+            while (i < end && i - groupStart < 4 && (digit = hexValue(text.charAt(i))) >= 0) {
+                value = value << 4 | digit;
+                i++;
+            }
+            if (i < end && text.charAt(i) == '.') {
+                long ipv4 = parseIpv4(text, groupStart, end);
+                if (ipv4 < 0 || groups > 6) {
+                    return INVALID;
+                }
+                high = high << 32 | low >>> 32;
+                low = low << 32 | ipv4;
+                groups += 2;
+                break;
+            }
+            if (i == groupStart || groups == 8) {
+                return INVALID;
+            }
+            high = high << 16 | low >>> 48;
+            low = low << 16 | value;
+            groups++;
+            if (i == end) {
+                break;
+            }
+            if (text.charAt(i) != ':' || ++i == end) {
+                return INVALID;
+            }
+            if (text.charAt(i) == ':') {
+                if (compressedAt >= 0) {
+                    return INVALID;
+                }
+                compressedAt = groups;
+                i++;
+            }
+        }
+        if (compressedAt < 0) {
+            if (groups != 8) {
+                return INVALID;
+            }
+        } else {
+            if (groups > 7) {
+                return INVALID;
+            }
+            // Move the groups before the "::" up so that the zero groups sit between them and the
+            // groups after it.
+            int tailBits = 16 * (groups - compressedAt);
+            int gapBits = 16 * (8 - groups);
+            long tailHigh = tailBits > 64 ? high & lowBits(tailBits - 64) : 0;
+            long tailLow = tailBits >= 64 ? low : low & lowBits(tailBits);
+            long headHigh = high ^ tailHigh;
+            long headLow = low ^ tailLow;
+            high = shiftLeftHigh(headHigh, headLow, gapBits) | tailHigh;
+            low = shiftLeftLow(headLow, gapBits) | tailLow;
+        }
+        if (high == 0 && low >>> 32 == 0xffffL) {
+            words[0] = 0;
+            words[1] = low & 0xffffffffL;
+            return IPV4;
+        }
+        words[0] = high;
+        words[1] = low;
+        return IPV6;
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static long lowBits(int bits) {
+        return bits == 0 ? 0 : -1L >>> (64 - bits);
+    }
+
+    private static long shiftLeftHigh(long high, long low, int bits) {
+        if (bits == 0) {
+            return high;
+        } else if (bits < 64) {
+            return high << bits | low >>> (64 - bits);
+        }
+        return bits < 128 ? low << (bits - 64) : 0;
+    }
+
+    private static long shiftLeftLow(long low, int bits) {
+        return bits < 64 ? low << bits : 0;
+    }
+}
@@ -18,7 +18,6 @@ package io.getunleash.util;
 import io.getunleash.lang.Nullable;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.util.Arrays;
 import java.util.regex.Pattern;
 
 /**
@@ -27,12 +26,22 @@ import java.util.regex.Pattern;
  * <p>Both IPv6 and IPv4 addresses are supported, but a matcher which is configured with an IPv4
  * address will never match a request which returns an IPv6 address, and vice-versa.
  *
+ * <p>Addresses passed to {@link #matches(String)} must be literals; they are parsed by {@link
+ * IpAddressLiteral} and never resolved, so matching does not block or allocate. Only the configured
+ * address may be a host name, which is resolved once when the matcher is created.
+ *
  * @author Luke Taylor
  */
 public final class IpAddressMatcher {
     private static final Pattern SPLITTER = Pattern.compile("/");
-    private final int nMaskBits;
-    @Nullable private final InetAddress requiredAddress;
+    private static final ThreadLocal<long[]> ADDRESS_WORDS =
+            ThreadLocal.withInitial(() -> new long[2]);
+
+    private final int requiredVersion;
+    private final long requiredHigh;
+    private final long requiredLow;
+    private final long maskHigh;
+    private final long maskLow;
 
     /**
      * Takes a specific IP address or a range specified using the IP/Netmask (e.g. 192.168.1.0/24 or
@@ -43,64 +52,74 @@ public final class IpAddressMatcher {
     public IpAddressMatcher(@Nullable String ipAddress) {
         final String trimmedIpAddress = ipAddress == null ? "" : ipAddress.trim();
 
+        String address;
+        int nMaskBits;
         if (trimmedIpAddress.indexOf('/') > 0) {
             String[] addressAndMask = SPLITTER.split(trimmedIpAddress, -1);
-            requiredAddress = parseAddress(addressAndMask[0]);
+            address = addressAndMask[0];
             nMaskBits = Integer.parseInt(addressAndMask[1]);
         } else {
-            requiredAddress = parseAddress(trimmedIpAddress);
+            address = trimmedIpAddress;
             nMaskBits = -1;
         }
-    }
-
-    public boolean matches(@Nullable String address) {
-        if (address == null || address.isEmpty() || requiredAddress == null) {
-            return false;
-        }
-
-        InetAddress remoteAddress = parseAddress(address);
-
-        if (remoteAddress == null || !requiredAddress.getClass().equals(remoteAddress.getClass())) {
-            return false;
-        }
 
-        if (nMaskBits < 0) {
-            return remoteAddress.equals(requiredAddress);
+        long[] words = new long[2];
+        requiredVersion = parseAddress(address, words);
+        int width = requiredVersion == IpAddressLiteral.IPV4 ? 32 : 128;
+        if (requiredVersion != IpAddressLiteral.INVALID && nMaskBits > width) {
+            throw new IllegalArgumentException(
+                    "IP address " + address + " is too short for bitmask of length " + nMaskBits);
         }
-
-        byte[] remAddr = remoteAddress.getAddress();
-        byte[] reqAddr = requiredAddress.getAddress();
-
-        int oddBits = nMaskBits % 8;
-        int nMaskBytes = nMaskBits / 8 + (oddBits == 0 ? 0 : 1);
-        byte[] mask = new byte[nMaskBytes];
-
-        Arrays.fill(mask, 0, oddBits == 0 ? mask.length : mask.length - 1, (byte) 0xFF);
-
-        if (oddBits != 0) {
-            int finalByte = (1 << oddBits) - 1;
-            finalByte <<= 8 - oddBits;
-            mask[mask.length - 1] = (byte) finalByte;
+        int prefixLength = nMaskBits < 0 ? width : nMaskBits;
+        if (requiredVersion == IpAddressLiteral.IPV4) {
+            maskHigh = 0;
+            maskLow = prefixLength == 0 ? 0 : 0xffffffffL << (32 - prefixLength) & 0xffffffffL;
+        } else {
+            maskHigh =
+                    prefixLength == 0 ? 0 : prefixLength >= 64 ? -1L : -1L << (64 - prefixLength);
+            maskLow = prefixLength <= 64 ? 0 : -1L << (128 - prefixLength);
         }
+        requiredHigh = words[0] & maskHigh;
+        requiredLow = words[1] & maskLow;
+    }
 
-        for (int i = 0; i < mask.length; i++) {
-            if ((remAddr[i] & mask[i]) != (reqAddr[i] & mask[i])) {
-                return false;
-            }
+    public boolean matches(@Nullable String address) {
+        if (address == null || address.isEmpty() || requiredVersion == IpAddressLiteral.INVALID) {
+            return false;
         }
 
-        return true;
+        long[] words = ADDRESS_WORDS.get();
+        return IpAddressLiteral.parse(address, words) == requiredVersion
+                && (words[0] & maskHigh) == requiredHigh
+                && (words[1] & maskLow) == requiredLow;
     }
 
-    private @Nullable InetAddress parseAddress(@Nullable String address) {
-        if (address == null || address.isEmpty()) {
-            return null;
+    /**
+     * Parses a literal, or resolves a host name, into {@code words}.
+     *
+     * @return the address family, or {@link IpAddressLiteral#INVALID} for an empty address
+     */
+    private static int parseAddress(String address, long[] words) {
+        if (address.isEmpty()) {
+            return IpAddressLiteral.INVALID;
+        }
+        int version = IpAddressLiteral.parse(address, words);
+        if (version != IpAddressLiteral.INVALID) {
+            return version;
         }
 
+        byte[] bytes;
         try {
-            return InetAddress.getByName(address);
+            bytes = InetAddress.getByName(address).getAddress();
         } catch (UnknownHostException e) {
             throw new IllegalArgumentException("Failed to parse address " + address, e);
         }
+        words[0] = 0;
+        words[1] = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            int word = bytes.length == 4 ? 1 : i / 8;
+            words[word] = words[word] << 8 | (bytes[i] & 0xff);
+        }
+        return bytes.length == 4 ? IpAddressLiteral.IPV4 : IpAddressLiteral.IPV6;
     }
 }
@@ -0,0 +1,94 @@
+package io.getunleash.util;
+
+import io.getunleash.lang.Nullable;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The name of the local host, looked up at most once per process. Looking it up can block on a
+ * reverse DNS query for seconds, so the lookup runs on its own daemon thread, is only started when
+ * the name is first needed and is waited for at most {@link #RESOLVE_TIMEOUT_MILLIS}. Once a wait
+ * has timed out, callers no longer wait and get the name as soon as the lookup completes.
+ */
+public final class LocalHostname {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalHostname.class);
+
+    public static final long RESOLVE_TIMEOUT_MILLIS = 1000;
+
+    private static volatile boolean slow;
+
+    private LocalHostname() {}
+
+    /** Starts looking up the host name in the background, unless that already happened. */
+    public static void prefetch() {
+        // Touching the holder is what starts the lookup
+        Resolution.HOSTNAME.isDone();
+    }
+
+    /**
+     * @return the name of the local host, or null if it could not be resolved or is still being
+     *     looked up
+     */
+    public static @Nullable String get() {
+        CompletableFuture<String> hostname = Resolution.HOSTNAME;
+        try {
+            if (slow) {
+                return hostname.getNow(null);
+            }
+            return hostname.get(RESOLVE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.warn(
+                    "Resolving the local host name took more than {} ms, continuing without it",
+                    RESOLVE_TIMEOUT_MILLIS);
+            // Only this call goes without the name, the lookup keeps running for later ones
+            slow = true;
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the name of the local host if the lookup has completed, without waiting for it, or
+     *     null otherwise
+     */
+    public static @Nullable String getNow() {
+        try {
+            return Resolution.HOSTNAME.getNow(null);
+        } catch (CompletionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    private static @Nullable String lookup() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException | RuntimeException e) {
+            LOGGER.warn("Unable to resolve the local host name", e);
+            return null;
+        }
+    }
+
+    // Initialised on first use only
+    private static final class Resolution {
+        static final CompletableFuture<String> HOSTNAME =
+                CompletableFuture.supplyAsync(
+                        LocalHostname::lookup,
+                        task -> {
+                            Thread thread = new Thread(task, "unleash-hostname-resolver");
+                            thread.setDaemon(true);
+                            thread.start();
+                        });
+    }
+}
@@ -0,0 +1,29 @@
+package io.getunleash.util;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source of the random numbers used for random rollouts and for the stickiness of contexts that
+ * carry no identifier. The default draws from {@link ThreadLocalRandom}, so threads never contend
+ * on a shared seed; tests can plug in a {@link #seeded(long) seeded} source to get repeatable
+ * results.
+ */
+@FunctionalInterface
+public interface RandomSource {
+
+    /** The source backed by the current thread's {@link ThreadLocalRandom}. */
+    RandomSource THREAD_LOCAL = bound -> ThreadLocalRandom.current().nextInt(bound);
+
+    /** @return a uniformly distributed value between zero (inclusive) and bound (exclusive) */
+    int nextInt(int bound);
+
+    /**
+     * @return a source producing the same sequence for the same seed. It is safe to share between
+     *     threads, but threads then contend on its seed and the sequence is only repeatable when
+     *     used from a single thread.
+     */
+    static RandomSource seeded(long seed) {
+        return new Random(seed)::nextInt;
+    }
+}
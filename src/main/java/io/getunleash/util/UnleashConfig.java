@@ -5,6 +5,8 @@ import static io.getunleash.DefaultUnleash.UNKNOWN_STRATEGY;
 import io.getunleash.CustomHttpHeadersProvider;
 import io.getunleash.DefaultCustomHttpHeadersProviderImpl;
 import io.getunleash.UnleashContextProvider;
+import io.getunleash.event.EventDispatcher;
+import io.getunleash.event.EventOverflowPolicy;
 import io.getunleash.event.NoOpSubscriber;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.lang.Nullable;
@@ -14,15 +16,14 @@ import io.getunleash.strategy.Strategy;
 import java.io.File;
 import java.net.Authenticator;
 import java.net.HttpURLConnection;
-import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.PasswordAuthentication;
 import java.net.Proxy;
 import java.net.URI;
-import java.net.UnknownHostException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 public class UnleashConfig {
 
@@ -35,7 +36,9 @@ public class UnleashConfig {
     private final CustomHttpHeadersProvider customHttpHeadersProvider;
     private final String appName;
     private final String environment;
-    private final String instanceId;
+    private final Supplier<String> instanceIdSupplier;
+    // Resolved once, so that every request and event carries the same id
+    @Nullable private volatile String instanceId;
     private final String sdkVersion;
     private final String backupFile;
 
@@ -51,6 +54,9 @@ public class UnleashConfig {
     private final boolean synchronousFetchOnInitialisation;
     private final UnleashScheduledExecutor unleashScheduledExecutor;
     private final UnleashSubscriber unleashSubscriber;
+    private final int eventQueueCapacity;
+    private final EventOverflowPolicy eventOverflowPolicy;
+    private final RandomSource randomSource;
     @Nullable private final Strategy fallbackStrategy;
     @Nullable private final ToggleBootstrapProvider toggleBootstrapProvider;
     @Nullable private final Proxy proxy;
@@ -61,7 +67,7 @@ public class UnleashConfig {
             CustomHttpHeadersProvider customHttpHeadersProvider,
             @Nullable String appName,
             String environment,
-            @Nullable String instanceId,
+            @Nullable Supplier<String> instanceId,
             String sdkVersion,
             String backupFile,
             @Nullable String projectName,
@@ -75,6 +81,9 @@ public class UnleashConfig {
             UnleashFeatureFetcherFactory unleashFeatureFetcherFactory,
             @Nullable UnleashScheduledExecutor unleashScheduledExecutor,
             @Nullable UnleashSubscriber unleashSubscriber,
+            int eventQueueCapacity,
+            EventOverflowPolicy eventOverflowPolicy,
+            RandomSource randomSource,
             @Nullable Strategy fallbackStrategy,
             @Nullable ToggleBootstrapProvider unleashBootstrapProvider,
             @Nullable Proxy proxy,
@@ -100,6 +109,10 @@ public class UnleashConfig {
             throw new IllegalStateException("You are required to specify a subscriber");
         }
 
+        if (eventQueueCapacity < 2) {
+            throw new IllegalStateException("The event queue capacity must be at least 2");
+        }
+
         if (fallbackStrategy == null) {
             this.fallbackStrategy = UNKNOWN_STRATEGY;
         } else {
@@ -118,7 +131,7 @@ public class UnleashConfig {
         this.unleashURLs = new UnleashURLs(unleashAPI);
         this.appName = appName;
         this.environment = environment;
-        this.instanceId = instanceId;
+        this.instanceIdSupplier = instanceId;
         this.sdkVersion = sdkVersion;
         this.backupFile = backupFile;
         this.projectName = projectName;
@@ -131,6 +144,9 @@ public class UnleashConfig {
         this.synchronousFetchOnInitialisation = synchronousFetchOnInitialisation;
         this.unleashScheduledExecutor = unleashScheduledExecutor;
         this.unleashSubscriber = unleashSubscriber;
+        this.eventQueueCapacity = eventQueueCapacity;
+        this.eventOverflowPolicy = eventOverflowPolicy;
+        this.randomSource = randomSource;
         this.toggleBootstrapProvider = unleashBootstrapProvider;
         this.proxy = proxy;
         this.unleashFeatureFetcherFactory = unleashFeatureFetcherFactory;
@@ -179,6 +195,16 @@ public class UnleashConfig {
     }
 
     public String getInstanceId() {
+        String instanceId = this.instanceId;
+        if (instanceId == null) {
+            synchronized (instanceIdSupplier) {
+                instanceId = this.instanceId;
+                if (instanceId == null) {
+                    instanceId = instanceIdSupplier.get();
+                    this.instanceId = instanceId;
+                }
+            }
+        }
         return instanceId;
     }
 
@@ -230,6 +256,18 @@ public class UnleashConfig {
         return unleashSubscriber;
     }
 
+    public int getEventQueueCapacity() {
+        return eventQueueCapacity;
+    }
+
+    public EventOverflowPolicy getEventOverflowPolicy() {
+        return eventOverflowPolicy;
+    }
+
+    public RandomSource getRandomSource() {
+        return randomSource;
+    }
+
     public boolean isProxyAuthenticationByJvmProperties() {
         return isProxyAuthenticationByJvmProperties;
     }
@@ -319,7 +357,7 @@ public class UnleashConfig {
                 new DefaultCustomHttpHeadersProviderImpl();
         private @Nullable String appName;
         private String environment = "default";
-        private String instanceId = getDefaultInstanceId();
+        private @Nullable Supplier<String> instanceId = getDefaultInstanceId();
         private final String sdkVersion = getDefaultSdkVersion();
         private @Nullable String backupFile;
         private @Nullable String projectName;
@@ -333,25 +371,29 @@ public class UnleashConfig {
         private boolean synchronousFetchOnInitialisation = false;
         private @Nullable UnleashScheduledExecutor scheduledExecutor;
         private @Nullable UnleashSubscriber unleashSubscriber;
+        private int eventQueueCapacity = EventDispatcher.DEFAULT_QUEUE_CAPACITY;
+        private EventOverflowPolicy eventOverflowPolicy = EventOverflowPolicy.DROP_NEWEST;
+        private RandomSource randomSource = RandomSource.THREAD_LOCAL;
         private boolean isProxyAuthenticationByJvmProperties;
         private @Nullable Strategy fallbackStrategy;
         private @Nullable ToggleBootstrapProvider toggleBootstrapProvider;
         private @Nullable Proxy proxy;
         private @Nullable Authenticator proxyAuthenticator;
 
-        private static String getHostname() {
+        /**
+         * The local host name is only looked up in the background here. The instance id is
+         * resolved when it is first read from the config, and has "null" in place of the host
+         * name if the lookup has not completed by then.
+         */
+        static Supplier<String> getDefaultInstanceId() {
+            String suffix = "-generated-" + Math.round(Math.random() * 1000000.0D);
             String hostName = System.getProperty("hostname");
-            if (hostName == null || hostName.length() == 0) {
-                try {
-                    hostName = InetAddress.getLocalHost().getHostName();
-                } catch (UnknownHostException e) {
-                }
+            if (hostName != null && hostName.length() > 0) {
+                String instanceId = hostName + suffix;
+                return () -> instanceId;
             }
-            return hostName + "-";
-        }
-
-        static String getDefaultInstanceId() {
-            return getHostname() + "generated-" + Math.round(Math.random() * 1000000.0D);
+            LocalHostname.prefetch();
+            return () -> LocalHostname.get() + suffix;
         }
 
         public Builder unleashAPI(URI unleashAPI) {
@@ -385,7 +427,7 @@ public class UnleashConfig {
         }
 
         public Builder instanceId(String instanceId) {
-            this.instanceId = instanceId;
+            this.instanceId = instanceId == null ? null : () -> instanceId;
             return this;
         }
 
@@ -450,6 +492,30 @@ public class UnleashConfig {
             return this;
         }
 
+        /**
+         * Maximum number of events waiting to be delivered to the subscriber. It is rounded up to
+         * a power of two.
+         */
+        public Builder eventQueueCapacity(int eventQueueCapacity) {
+            this.eventQueueCapacity = eventQueueCapacity;
+            return this;
+        }
+
+        public Builder eventOverflowPolicy(EventOverflowPolicy eventOverflowPolicy) {
+            this.eventOverflowPolicy = eventOverflowPolicy;
+            return this;
+        }
+
+        /**
+         * Source of randomness for the built-in random rollouts and for variant selection when the
+         * context has no stickiness value. Use {@link RandomSource#seeded(long)} for repeatable
+         * tests.
+         */
+        public Builder randomSource(RandomSource randomSource) {
+            this.randomSource = randomSource;
+            return this;
+        }
+
         public Builder fallbackStrategy(@Nullable Strategy fallbackStrategy) {
             this.fallbackStrategy = fallbackStrategy;
             return this;
@@ -508,6 +574,9 @@ public class UnleashConfig {
                     Optional.ofNullable(scheduledExecutor)
                             .orElseGet(UnleashScheduledExecutorImpl::getInstance),
                     Optional.ofNullable(unleashSubscriber).orElseGet(NoOpSubscriber::new),
+                    eventQueueCapacity,
+                    eventOverflowPolicy,
+                    randomSource,
                     fallbackStrategy,
                     toggleBootstrapProvider,
                     proxy,
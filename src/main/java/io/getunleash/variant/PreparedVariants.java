@@ -0,0 +1,199 @@
+package io.getunleash.variant;
+
+import io.getunleash.FeatureToggle;
+import io.getunleash.UnleashContext;
+import io.getunleash.Variant;
+import io.getunleash.lang.Nullable;
+import io.getunleash.strategy.StrategyUtils;
+import io.getunleash.strategy.StrategyUtils.GroupPrefix;
+import io.getunleash.util.RandomSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The variants of a {@link FeatureToggle}, prepared for selection: the total weight, the
+ * cumulative weights, the stickiness field and the overrides indexed by context value are
+ * computed once, so selecting a variant only hashes the seed and searches the weights.
+ *
+ * @see VariantUtil#prepare(FeatureToggle)
+ */
+public final class PreparedVariants {
+    private static final int NO_OVERRIDE = Integer.MAX_VALUE;
+
+    private final VariantDefinition[] definitions;
+    private final int totalWeight;
+    // The running total of the weights up to each variant with a weight, and that variant
+    private final int[] cumulativeWeights;
+    private final int[] weightedDefinitions;
+    // Binary search needs the running total to increase, which negative weights can break
+    private final boolean ascending;
+    private final OverrideIndex[] overrides;
+    @Nullable private final String stickiness;
+    private final int stickinessSlot;
+    private final GroupPrefix prefix;
+
+    PreparedVariants(FeatureToggle featureToggle) {
+        List<VariantDefinition> variants = featureToggle.getVariants();
+        definitions = variants.toArray(new VariantDefinition[0]);
+
+        int total = 0;
+        int weighted = 0;
+        for (VariantDefinition definition : definitions) {
+            total += definition.getWeight();
+            if (definition.getWeight() != 0) {
+                weighted++;
+            }
+        }
+        totalWeight = total;
+        cumulativeWeights = new int[weighted];
+        weightedDefinitions = new int[weighted];
+        boolean increasing = true;
+        int counter = 0;
+        for (int i = 0, k = 0; i < definitions.length; i++) {
+            if (definitions[i].getWeight() != 0) {
+                counter += definitions[i].getWeight();
+                increasing &= k == 0 || counter > cumulativeWeights[k - 1];
+                cumulativeWeights[k] = counter;
+                weightedDefinitions[k++] = i;
+            }
+        }
+        ascending = increasing;
+
+        overrides = indexOverrides(definitions);
+        stickiness = customStickiness(definitions);
+        stickinessSlot = stickiness != null ? UnleashContext.slotOf(stickiness) : -1;
+        prefix = StrategyUtils.prefixOf(featureToggle.getName());
+    }
+
+    Variant select(UnleashContext context, Variant defaultVariant, RandomSource randomSource) {
+        if (totalWeight == 0) {
+            return defaultVariant;
+        }
+        int override = findOverride(context);
+        if (override != NO_OVERRIDE) {
+            return definitions[override].toVariant();
+        }
+        int target = prefix.getNormalizedNumber(getSeed(context, randomSource), totalWeight);
+        int k = ascending ? search(target) : scan(target);
+        // Should not be out of range
+        return k < weightedDefinitions.length
+                ? definitions[weightedDefinitions[k]].toVariant()
+                : defaultVariant;
+    }
+
+    /** @return the first variant with an override matching the context, or NO_OVERRIDE */
+    private int findOverride(UnleashContext context) {
+        int first = NO_OVERRIDE;
+        for (OverrideIndex index : overrides) {
+            String value = context.get(index.slot, index.contextName);
+            Integer definition = index.firstDefinitionByValue.get(value != null ? value : "");
+            if (definition != null && definition < first) {
+                first = definition;
+            }
+        }
+        return first;
+    }
+
+    /** @return the first position where the running total reaches the target */
+    private int search(int target) {
+        int low = 0;
+        int high = cumulativeWeights.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] >= target) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private int scan(int target) {
+        int k = 0;
+        while (k < cumulativeWeights.length && cumulativeWeights[k] < target) {
+            k++;
+        }
+        return k;
+    }
+
+    private String getSeed(UnleashContext context, RandomSource randomSource) {
+        if (stickiness != null) {
+            String value = context.get(stickinessSlot, stickiness);
+            return value != null ? value : randomString(randomSource);
+        }
+        String identifier = context.get(UnleashContext.USER_ID_SLOT);
+        if (identifier == null) {
+            identifier = context.get(UnleashContext.SESSION_ID_SLOT);
+        }
+        if (identifier == null) {
+            identifier = context.get(UnleashContext.REMOTE_ADDRESS_SLOT);
+        }
+        return identifier != null ? identifier : randomString(randomSource);
+    }
+
+    private static String randomString(RandomSource randomSource) {
+        return Integer.toString(randomSource.nextInt(100000));
+    }
+
+    private static @Nullable String customStickiness(VariantDefinition[] definitions) {
+        for (VariantDefinition definition : definitions) {
+            String stickiness = definition.getStickiness();
+            if (stickiness != null && !"default".equals(stickiness)) {
+                return stickiness;
+            }
+        }
+        return null;
+    }
+
+    private static OverrideIndex[] indexOverrides(VariantDefinition[] definitions) {
+        Map<String, Map<String, Integer>> byContextName = new LinkedHashMap<>();
+        for (int i = 0; i < definitions.length; i++) {
+            for (VariantOverride override : definitions[i].getOverrides()) {
+                if (override.getContextName() == null || override.getValues() == null) {
+                    continue;
+                }
+                Map<String, Integer> byValue =
+                        byContextName.computeIfAbsent(
+                                override.getContextName(), name -> new HashMap<>());
+                for (String value : override.getValues()) {
+                    // Definitions are visited in order, so the first one to list a value wins
+                    byValue.putIfAbsent(value, i);
+                }
+            }
+        }
+        List<OverrideIndex> indexes = new ArrayList<>(byContextName.size());
+        byContextName.forEach(
+                (contextName, byValue) -> indexes.add(new OverrideIndex(contextName, byValue)));
+        return indexes.toArray(new OverrideIndex[0]);
+    }
+
+    private static final class OverrideIndex {
+        private final String contextName;
+        private final int slot;
+        private final Map<String, Integer> firstDefinitionByValue;
+
+        private OverrideIndex(String contextName, Map<String, Integer> firstDefinitionByValue) {
+            this.contextName = contextName;
+            this.slot = overrideSlot(contextName);
+            this.firstDefinitionByValue = firstDefinitionByValue;
+        }
+
+        /** Overrides read appName and environment from the properties, unlike stickiness. */
+        private static int overrideSlot(String contextName) {
+            switch (contextName) {
+                case "userId":
+                    return UnleashContext.USER_ID_SLOT;
+                case "sessionId":
+                    return UnleashContext.SESSION_ID_SLOT;
+                case "remoteAddress":
+                    return UnleashContext.REMOTE_ADDRESS_SLOT;
+                default:
+                    return UnleashContext.PROPERTY_SLOT;
+            }
+        }
+    }
+}
@@ -5,9 +5,9 @@ import io.getunleash.UnleashContext;
 import io.getunleash.Variant;
 import io.getunleash.lang.Nullable;
 import io.getunleash.strategy.StrategyUtils;
+import io.getunleash.util.RandomSource;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 import java.util.function.Predicate;
 
 public final class VariantUtil {
@@ -53,28 +53,44 @@ public final class VariantUtil {
                 .findFirst();
     }
 
-    private static String getIdentifier(UnleashContext context) {
-        return context.getUserId()
-                .orElse(
-                        context.getSessionId()
-                                .orElse(
-                                        context.getRemoteAddress()
-                                                .orElse(Double.toString(Math.random()))));
+    private static String getIdentifier(UnleashContext context, RandomSource randomSource) {
+        String identifier = context.get(UnleashContext.USER_ID_SLOT);
+        if (identifier == null) {
+            identifier = context.get(UnleashContext.SESSION_ID_SLOT);
+        }
+        if (identifier == null) {
+            identifier = context.get(UnleashContext.REMOTE_ADDRESS_SLOT);
+        }
+        return identifier != null ? identifier : randomString(randomSource);
     }
 
-    private static String randomString() {
-        int randSeed = new Random().nextInt(100000);
-        return "" + randSeed;
+    private static String randomString(RandomSource randomSource) {
+        return Integer.toString(randomSource.nextInt(100000));
     }
 
-    private static String getSeed(UnleashContext unleashContext, Optional<String> stickiness) {
+    private static String getSeed(
+            UnleashContext unleashContext, Optional<String> stickiness, RandomSource randomSource) {
         return stickiness
-                .map(s -> unleashContext.getByName(s).orElse(randomString()))
-                .orElse(getIdentifier(unleashContext));
+                .map(s -> unleashContext.getByName(s).orElseGet(() -> randomString(randomSource)))
+                .orElseGet(() -> getIdentifier(unleashContext, randomSource));
     }
 
     public static Variant selectVariant(
             @Nullable FeatureToggle featureToggle, UnleashContext context, Variant defaultVariant) {
+        return selectVariant(featureToggle, context, defaultVariant, RandomSource.THREAD_LOCAL);
+    }
+
+    /**
+     * Selects a variant straight from the definitions of the toggle. Callers selecting from the
+     * same toggle repeatedly should {@link #prepare(FeatureToggle) prepare} it instead.
+     *
+     * @param randomSource draws the seed for contexts that have no value for the stickiness field
+     */
+    public static Variant selectVariant(
+            @Nullable FeatureToggle featureToggle,
+            UnleashContext context,
+            Variant defaultVariant,
+            RandomSource randomSource) {
         if (featureToggle == null) {
             return defaultVariant;
         }
@@ -98,7 +114,9 @@ public final class VariantUtil {
                         .findFirst();
         int target =
                 StrategyUtils.getNormalizedNumber(
-                        getSeed(context, customStickiness), featureToggle.getName(), totalWeight);
+                        getSeed(context, customStickiness, randomSource),
+                        featureToggle.getName(),
+                        totalWeight);
 
         int counter = 0;
         for (final VariantDefinition definition : featureToggle.getVariants()) {
@@ -113,4 +131,27 @@ public final class VariantUtil {
         // Should not happen
         return defaultVariant;
     }
+
+    /**
+     * Prepares the variants of a toggle for {@link #selectVariant(PreparedVariants, UnleashContext,
+     * Variant, RandomSource)}, so that repeated selections skip summing the weights and searching
+     * the overrides.
+     */
+    public static PreparedVariants prepare(FeatureToggle featureToggle) {
+        return new PreparedVariants(featureToggle);
+    }
+
+    /**
+     * Selects the same variant as {@link #selectVariant(FeatureToggle, UnleashContext, Variant,
+     * RandomSource)} for the prepared toggle.
+     *
+     * @param randomSource draws the seed for contexts that have no value for the stickiness field
+     */
+    public static Variant selectVariant(
+            PreparedVariants variants,
+            UnleashContext context,
+            Variant defaultVariant,
+            RandomSource randomSource) {
+        return variants.select(context, defaultVariant, randomSource);
+    }
 }
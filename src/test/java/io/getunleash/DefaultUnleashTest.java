@@ -5,7 +5,9 @@ import static org.mockito.Mockito.*;
 
 import io.getunleash.event.EventDispatcher;
 import io.getunleash.metric.UnleashMetricService;
+import io.getunleash.repository.FeatureEvaluationPlan;
 import io.getunleash.repository.FeatureRepository;
+import io.getunleash.strategy.PreparedStrategy;
 import io.getunleash.strategy.Strategy;
 import io.getunleash.util.UnleashConfig;
 import java.util.Arrays;
@@ -99,4 +101,86 @@ class DefaultUnleashTest {
 
         verify(fallback).isEnabled(any(), any(), any());
     }
+
+    @Test
+    public void should_compile_plan_once_per_toggle_without_repository_plans() {
+        CountingStrategy strategy = new CountingStrategy();
+        sut = unleashWith(strategy);
+        FeatureToggle toggle =
+                new FeatureToggle(
+                        "toggle1",
+                        true,
+                        Collections.singletonList(
+                                new ActivationStrategy(strategy.getName(), new HashMap<>())));
+        when(featureRepository.getToggle("toggle1")).thenReturn(toggle);
+        UnleashContext context = UnleashContext.builder().build();
+
+        assertThat(sut.isEnabled("toggle1", context, false)).isTrue();
+        assertThat(sut.isEnabled("toggle1", context, false)).isTrue();
+        assertThat(strategy.prepared).isEqualTo(1);
+
+        when(featureRepository.getToggle("toggle1"))
+                .thenReturn(new FeatureToggle("toggle1", false, toggle.getStrategies()));
+        assertThat(sut.isEnabled("toggle1", context, false)).isFalse();
+        assertThat(strategy.prepared).isEqualTo(2);
+    }
+
+    @Test
+    public void should_not_use_plans_compiled_for_another_client() {
+        CountingStrategy strategy = new CountingStrategy();
+        when(featureRepository.registerStrategies(any())).thenReturn(false);
+        sut = unleashWith(strategy);
+        FeatureToggle toggle =
+                new FeatureToggle(
+                        "toggle1",
+                        true,
+                        Collections.singletonList(
+                                new ActivationStrategy(strategy.getName(), new HashMap<>())));
+        when(featureRepository.getToggle("toggle1")).thenReturn(toggle);
+        when(featureRepository.getEvaluationPlan("toggle1"))
+                .thenReturn(
+                        FeatureEvaluationPlan.compile(
+                                toggle,
+                                activationStrategy -> Collections.emptyList(),
+                                name -> DefaultUnleash.UNKNOWN_STRATEGY));
+
+        assertThat(sut.isEnabled("toggle1", UnleashContext.builder().build(), false)).isTrue();
+        assertThat(strategy.prepared).isEqualTo(1);
+    }
+
+    private DefaultUnleash unleashWith(Strategy strategy) {
+        Map<String, Strategy> strategyMap = new HashMap<>();
+        strategyMap.put(strategy.getName(), strategy);
+        return new DefaultUnleash(
+                UnleashConfig.builder().unleashAPI("http://fakeAPI").appName("fakeApp").build(),
+                featureRepository,
+                strategyMap,
+                contextProvider,
+                eventDispatcher,
+                metricService);
+    }
+
+    private static class CountingStrategy implements PreparedStrategy<Integer> {
+        int prepared;
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+
+        @Override
+        public boolean isEnabled(Map<String, String> parameters) {
+            return true;
+        }
+
+        @Override
+        public Integer prepare(Map<String, String> parameters) {
+            return ++prepared;
+        }
+
+        @Override
+        public boolean isEnabled(Integer preparedParameters, UnleashContext unleashContext) {
+            return true;
+        }
+    }
 }
@@ -16,6 +16,18 @@ public class UnleashContextTest {
         assertThat(context.getProperties()).isEmpty();
     }
 
+    @Test
+    public void default_provider_should_build_a_new_context_per_call() {
+        UnleashContextProvider provider = UnleashContextProvider.getDefaultProvider();
+
+        UnleashContext context = provider.getContext();
+        context.getProperties().put("tenant", "acme");
+
+        assertThat(context.getProperties()).containsEntry("tenant", "acme");
+        assertThat(provider.getContext()).isNotSameAs(context);
+        assertThat(provider.getContext().getProperties()).isEmpty();
+    }
+
     @Test
     public void should_get_context_with_userId() {
         UnleashContext context = UnleashContext.builder().userId("test@mail.com").build();
@@ -42,6 +54,33 @@ public class UnleashContextTest {
         assertThat(context.getProperties().get("test")).isEqualTo("me");
     }
 
+    @Test
+    public void should_expose_fields_by_slot() {
+        UnleashContext context =
+                UnleashContext.builder()
+                        .userId("test@mail.com")
+                        .sessionId("123")
+                        .remoteAddress("127.0.0.1")
+                        .environment("prod")
+                        .appName("myapp")
+                        .addProperty("test", "me")
+                        .build();
+
+        assertThat(context.get(UnleashContext.USER_ID_SLOT)).isEqualTo("test@mail.com");
+        assertThat(context.get(UnleashContext.SESSION_ID_SLOT)).isEqualTo("123");
+        assertThat(context.get(UnleashContext.REMOTE_ADDRESS_SLOT)).isEqualTo("127.0.0.1");
+        assertThat(context.get(UnleashContext.ENVIRONMENT_SLOT)).isEqualTo("prod");
+        assertThat(context.get(UnleashContext.APP_NAME_SLOT)).isEqualTo("myapp");
+
+        int propertySlot = UnleashContext.slotOf("test");
+        assertThat(propertySlot).isEqualTo(UnleashContext.PROPERTY_SLOT);
+        assertThat(context.get(propertySlot, "test")).isEqualTo("me");
+        assertThat(context.get(propertySlot, "missing")).isNull();
+        assertThat(context.get(UnleashContext.slotOf("userId"), "userId"))
+                .isEqualTo("test@mail.com");
+        assertThat(context.getByName("sessionId")).hasValue("123");
+    }
+
     @Test
     public void should_apply_context_fields() {
         UnleashContext context =
@@ -69,6 +108,40 @@ public class UnleashContextTest {
         assertThat(enhanced.getAppName()).hasValue("someApp");
     }
 
+    @Test
+    public void should_reuse_view_when_applying_static_fields_to_same_context() {
+        UnleashContext context = UnleashContext.builder().userId("test@mail.com").build();
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test.com")
+                        .appName("someApp")
+                        .environment("stage")
+                        .build();
+
+        UnleashContext enhanced = context.applyStaticFields(config);
+
+        assertThat(context.applyStaticFields(config)).isSameAs(enhanced);
+        assertThat(enhanced.applyStaticFields(config)).isSameAs(enhanced);
+        assertThat(enhanced.get(UnleashContext.APP_NAME_SLOT)).isEqualTo("someApp");
+        assertThat(enhanced.getByName("environment")).hasValue("stage");
+        assertThat(context.getAppName()).isEmpty();
+        assertThat(new UnleashContext.Builder(enhanced).build().getAppName()).hasValue("someApp");
+    }
+
+    @Test
+    public void should_return_same_context_when_static_fields_are_set() {
+        UnleashContext context =
+                UnleashContext.builder().environment("env").appName("myApp").build();
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test.com")
+                        .appName("someApp")
+                        .environment("stage")
+                        .build();
+
+        assertThat(context.applyStaticFields(config)).isSameAs(context);
+    }
+
     @Test
     public void should_not_ovveride_static_context_fields() {
         UnleashContext context =
@@ -13,6 +13,7 @@ import io.getunleash.util.UnleashScheduledExecutor;
 import io.getunleash.variant.Payload;
 import io.getunleash.variant.VariantDefinition;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -493,6 +494,39 @@ public class UnleashTest {
         assertThat(unleash.isEnabled("Test.variants")).isFalse();
     }
 
+    @Test
+    public void evaluate_all_toggles_should_draw_from_configured_random_source() {
+        AtomicInteger draws = new AtomicInteger();
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(mock(UnleashScheduledExecutor.class))
+                        .randomSource(
+                                bound -> {
+                                    draws.incrementAndGet();
+                                    return 0;
+                                })
+                        .build();
+        Unleash seeded = new DefaultUnleash(config, toggleRepository);
+        when(toggleRepository.getFeatureNames()).thenReturn(asList("test"));
+        when(toggleRepository.getToggle("test"))
+                .thenReturn(
+                        new FeatureToggle(
+                                "test",
+                                true,
+                                asList(new ActivationStrategy("default", null)),
+                                getTestVariants()));
+
+        List<EvaluatedToggle> toggles =
+                seeded.more().evaluateAllToggles(UnleashContext.builder().build());
+
+        assertThat(toggles).hasSize(1);
+        assertThat(toggles.get(0).getVariant().getName())
+                .isEqualTo(seeded.getVariant("test", UnleashContext.builder().build()).getName());
+        assertThat(draws).hasValue(2);
+    }
+
     private List<VariantDefinition> getTestVariants() {
         return asList(
                 new VariantDefinition(
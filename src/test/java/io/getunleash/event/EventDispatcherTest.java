@@ -0,0 +1,318 @@
+package io.getunleash.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.getunleash.SynchronousTestExecutor;
+import io.getunleash.UnleashException;
+import io.getunleash.repository.FeatureToggleResponse;
+import io.getunleash.util.UnleashConfig;
+import io.getunleash.util.UnleashScheduledExecutor;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import org.junit.jupiter.api.Test;
+
+public class EventDispatcherTest {
+
+    @Test
+    public void should_deliver_events_in_order() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        EventDispatcher dispatcher =
+                new EventDispatcher(
+                        config(subscriber, new SynchronousTestExecutor())
+                                .eventQueueCapacity(4)
+                                .build());
+
+        for (int i = 0; i < 10; i++) {
+            dispatcher.dispatch(new ToggleEvaluated("toggle-" + i, true));
+        }
+
+        assertThat(subscriber.toggleNames).hasSize(10).startsWith("toggle-0").endsWith("toggle-9");
+        assertThat(dispatcher.getQueuedEvents()).isEqualTo(10);
+        assertThat(dispatcher.getDroppedEvents()).isZero();
+        assertThat(dispatcher.getPendingEvents()).isZero();
+    }
+
+    @Test
+    public void should_drop_newest_events_when_queue_is_full() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        DeferredExecutor executor = new DeferredExecutor();
+        EventDispatcher dispatcher =
+                new EventDispatcher(config(subscriber, executor).eventQueueCapacity(4).build());
+
+        for (int i = 0; i < 6; i++) {
+            dispatcher.dispatch(new ToggleEvaluated("toggle-" + i, true));
+        }
+        assertThat(dispatcher.getPendingEvents()).isEqualTo(4);
+        executor.runAll();
+
+        assertThat(subscriber.toggleNames)
+                .containsExactly("toggle-0", "toggle-1", "toggle-2", "toggle-3");
+        assertThat(dispatcher.getQueuedEvents()).isEqualTo(4);
+        assertThat(dispatcher.getDroppedEvents()).isEqualTo(2);
+        assertThat(executor.scheduled).isEqualTo(1);
+    }
+
+    @Test
+    public void should_not_drop_other_events_when_queue_is_full() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        DeferredExecutor executor = new DeferredExecutor();
+        EventDispatcher dispatcher =
+                new EventDispatcher(config(subscriber, executor).eventQueueCapacity(4).build());
+
+        for (int i = 0; i < 6; i++) {
+            dispatcher.dispatch(new ToggleEvaluated("toggle-" + i, true));
+        }
+        UnleashException error = new UnleashException("fetch failed", null);
+        dispatcher.dispatch(error);
+        assertThat(dispatcher.getPendingEvents()).isEqualTo(5);
+        executor.runAll();
+
+        assertThat(subscriber.errors).containsExactly(error);
+        assertThat(subscriber.toggleNames).hasSize(4);
+        assertThat(dispatcher.getQueuedEvents()).isEqualTo(5);
+        assertThat(dispatcher.getDroppedEvents()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_drop_oldest_events_when_queue_is_full() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        DeferredExecutor executor = new DeferredExecutor();
+        EventDispatcher dispatcher =
+                new EventDispatcher(
+                        config(subscriber, executor)
+                                .eventQueueCapacity(4)
+                                .eventOverflowPolicy(EventOverflowPolicy.DROP_OLDEST)
+                                .build());
+
+        for (int i = 0; i < 6; i++) {
+            dispatcher.dispatch(new ToggleEvaluated("toggle-" + i, true));
+        }
+        executor.runAll();
+
+        assertThat(subscriber.toggleNames)
+                .containsExactly("toggle-2", "toggle-3", "toggle-4", "toggle-5");
+        assertThat(dispatcher.getDroppedEvents()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_sample_events_once_queue_is_half_full() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        DeferredExecutor executor = new DeferredExecutor();
+        EventDispatcher dispatcher =
+                new EventDispatcher(
+                        config(subscriber, executor)
+                                .eventQueueCapacity(64)
+                                .eventOverflowPolicy(EventOverflowPolicy.SAMPLE)
+                                .build());
+
+        for (int i = 0; i < 32 + 2 * EventDispatcher.SAMPLE_RATE; i++) {
+            dispatcher.dispatch(new ToggleEvaluated("toggle-" + i, true));
+        }
+        executor.runAll();
+
+        assertThat(subscriber.toggleNames).hasSize(34);
+        assertThat(dispatcher.getDroppedEvents()).isEqualTo(2 * EventDispatcher.SAMPLE_RATE - 2);
+    }
+
+    @Test
+    public void block_should_drop_events_when_the_drain_does_not_run() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        DeferredExecutor executor = new DeferredExecutor();
+        EventDispatcher dispatcher =
+                new EventDispatcher(
+                        config(subscriber, executor)
+                                .eventQueueCapacity(2)
+                                .eventOverflowPolicy(EventOverflowPolicy.BLOCK)
+                                .build());
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatch(new ToggleEvaluated("toggle-" + i, true));
+        }
+        executor.runAll();
+
+        assertThat(subscriber.toggleNames).containsExactly("toggle-0", "toggle-1");
+        assertThat(dispatcher.getDroppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    public void block_should_drop_events_when_the_executor_rejects_the_drain() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        DeferredExecutor executor =
+                new DeferredExecutor() {
+                    @Override
+                    public Future<Void> scheduleOnce(Runnable runnable) {
+                        throw new RejectedExecutionException("shut down");
+                    }
+                };
+        EventDispatcher dispatcher =
+                new EventDispatcher(
+                        config(subscriber, executor)
+                                .eventQueueCapacity(2)
+                                .eventOverflowPolicy(EventOverflowPolicy.BLOCK)
+                                .build());
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatch(new ToggleEvaluated("toggle-" + i, true));
+        }
+
+        assertThat(dispatcher.getQueuedEvents()).isEqualTo(2);
+        assertThat(dispatcher.getDroppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_use_default_queue_for_config_without_one() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        UnleashConfig config = mock(UnleashConfig.class);
+        when(config.getSubscriber()).thenReturn(subscriber);
+        when(config.getScheduledExecutor()).thenReturn(new SynchronousTestExecutor());
+        EventDispatcher dispatcher = new EventDispatcher(config);
+
+        dispatcher.dispatch(new ToggleEvaluated("toggle", true));
+
+        assertThat(subscriber.toggleNames).containsExactly("toggle");
+    }
+
+    @Test
+    public void should_keep_delivering_when_subscriber_throws() {
+        RecordingSubscriber subscriber =
+                new RecordingSubscriber() {
+                    @Override
+                    public void toggleEvaluated(ToggleEvaluated toggleEvaluated) {
+                        super.toggleEvaluated(toggleEvaluated);
+                        throw new IllegalStateException("subscriber failure");
+                    }
+                };
+        EventDispatcher dispatcher =
+                new EventDispatcher(config(subscriber, new SynchronousTestExecutor()).build());
+
+        dispatcher.dispatch(new ToggleEvaluated("first", true));
+        dispatcher.dispatch(new ToggleEvaluated("second", true));
+
+        assertThat(subscriber.toggleNames).containsExactly("first", "second");
+    }
+
+    @Test
+    public void should_only_deliver_subscribed_event_types() {
+        RecordingSubscriber subscriber =
+                new RecordingSubscriber() {
+                    @Override
+                    public EnumSet<UnleashEventType> getSubscribedEventTypes() {
+                        return EnumSet.of(UnleashEventType.ERROR);
+                    }
+                };
+        EventDispatcher dispatcher =
+                new EventDispatcher(config(subscriber, new SynchronousTestExecutor()).build());
+
+        dispatcher.dispatch(new ToggleEvaluated("toggle", true));
+        dispatcher.dispatch(new UnleashException("failure", null));
+        dispatcher.dispatch(new FeatureToggleResponse(FeatureToggleResponse.Status.CHANGED, 200));
+        dispatcher.dispatch(
+                new FeatureToggleResponse(FeatureToggleResponse.Status.UNAVAILABLE, 500));
+
+        assertThat(dispatcher.isSubscribed(UnleashEventType.TOGGLE_EVALUATED)).isFalse();
+        assertThat(dispatcher.isSubscribed(UnleashEventType.ERROR)).isTrue();
+        assertThat(subscriber.toggleNames).isEmpty();
+        assertThat(subscriber.errors).hasSize(2);
+        assertThat(dispatcher.getQueuedEvents()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_ignore_events_without_subscriber() {
+        UnleashConfig config = mock(UnleashConfig.class);
+        when(config.getScheduledExecutor()).thenReturn(new SynchronousTestExecutor());
+        EventDispatcher dispatcher = new EventDispatcher(config);
+
+        dispatcher.dispatch(new ToggleEvaluated("toggle", true));
+
+        assertThat(dispatcher.isSubscribed(UnleashEventType.TOGGLE_EVALUATED)).isFalse();
+        assertThat(dispatcher.getQueuedEvents()).isZero();
+    }
+
+    @Test
+    public void should_deliver_all_events_when_subscriber_declares_no_types() {
+        List<UnleashEvent> events = new ArrayList<>();
+        UnleashSubscriber subscriber =
+                new UnleashSubscriber() {
+                    @Override
+                    public EnumSet<UnleashEventType> getSubscribedEventTypes() {
+                        return null;
+                    }
+
+                    @Override
+                    public void on(UnleashEvent unleashEvent) {
+                        events.add(unleashEvent);
+                    }
+                };
+        EventDispatcher dispatcher =
+                new EventDispatcher(config(subscriber, new SynchronousTestExecutor()).build());
+        UnleashEvent custom = unleashSubscriber -> {};
+
+        dispatcher.dispatch(new ToggleEvaluated("toggle", true));
+        dispatcher.dispatch(custom);
+
+        assertThat(custom.getType()).isEqualTo(UnleashEventType.OTHER);
+        assertThat(events).hasSize(2).endsWith(custom);
+    }
+
+    @Test
+    public void no_op_subscriber_should_only_consume_errors() {
+        assertThat(new NoOpSubscriber().getSubscribedEventTypes())
+                .containsExactly(UnleashEventType.ERROR);
+        assertThat(new NoOpSubscriber() {}.getSubscribedEventTypes())
+                .containsExactlyInAnyOrder(UnleashEventType.values());
+    }
+
+    private static UnleashConfig.Builder config(
+            UnleashSubscriber subscriber, UnleashScheduledExecutor executor) {
+        return UnleashConfig.builder()
+                .appName(EventDispatcherTest.class.getSimpleName())
+                .unleashAPI("http://localhost:4242/api")
+                .subscriber(subscriber)
+                .scheduledExecutor(executor);
+    }
+
+    private static class RecordingSubscriber implements UnleashSubscriber {
+        final List<String> toggleNames = new ArrayList<>();
+        final List<UnleashException> errors = new ArrayList<>();
+
+        @Override
+        public void toggleEvaluated(ToggleEvaluated toggleEvaluated) {
+            toggleNames.add(toggleEvaluated.getToggleName());
+        }
+
+        @Override
+        public void onError(UnleashException unleashException) {
+            errors.add(unleashException);
+        }
+    }
+
+    private static class DeferredExecutor implements UnleashScheduledExecutor {
+        private final List<Runnable> tasks = new ArrayList<>();
+        private int scheduled;
+
+        @Override
+        public ScheduledFuture setInterval(Runnable command, long initialDelay, long period) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Void> scheduleOnce(Runnable runnable) {
+            scheduled++;
+            tasks.add(runnable);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+}
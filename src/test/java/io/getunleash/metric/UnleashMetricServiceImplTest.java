@@ -3,10 +3,20 @@ package io.getunleash.metric;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+import io.getunleash.FeatureToggle;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
+import io.getunleash.variant.VariantDefinition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
@@ -86,6 +96,26 @@ public class UnleashMetricServiceImplTest {
         assertThat(argument.getValue().getEnvironment()).isEqualTo(config.getEnvironment());
     }
 
+    @Test
+    public void should_resolve_instance_id_when_registration_is_sent() {
+        UnleashConfig config = mock(UnleashConfig.class);
+        when(config.getInstanceId()).thenReturn("instance-1");
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        UnleashMetricsSender sender = mock(UnleashMetricsSender.class);
+
+        UnleashMetricService unleashMetricService =
+                new UnleashMetricServiceImpl(config, sender, executor);
+        unleashMetricService.register(Collections.singleton("default"));
+
+        ArgumentCaptor<ClientRegistration> argument =
+                ArgumentCaptor.forClass(ClientRegistration.class);
+        verify(sender).registerClient(argument.capture());
+        verify(config, never()).getInstanceId();
+        assertThat(argument.getValue().getInstanceId()).isEqualTo("instance-1");
+        assertThat(argument.getValue().getInstanceId()).isEqualTo("instance-1");
+        verify(config, times(1)).getInstanceId();
+    }
+
     @Test
     public void should_send_metrics() {
         UnleashConfig config =
@@ -196,4 +226,156 @@ public class UnleashMetricServiceImplTest {
         assertThat(bucket.getToggles().get("someToggle").getYes()).isEqualTo(0l);
         assertThat(bucket.getToggles().get("someToggle").getNo()).isEqualTo(0l);
     }
+
+    @Test
+    public void should_not_lose_counts_when_counting_concurrently() throws Exception {
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .sendMetricsInterval(10)
+                        .unleashAPI("http://unleash.com")
+                        .build();
+
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        UnleashMetricsSender sender = mock(UnleashMetricsSender.class);
+
+        UnleashMetricService unleashMetricService =
+                new UnleashMetricServiceImpl(config, sender, executor);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            threads.submit(
+                    () -> {
+                        for (int j = 0; j < 10_000; j++) {
+                            unleashMetricService.count("someToggle", j % 2 == 0);
+                            unleashMetricService.countVariant("someToggle", "v1");
+                        }
+                    });
+        }
+        threads.shutdown();
+        assertThat(threads.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        ArgumentCaptor<Runnable> sendMetricsCallback = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).setInterval(sendMetricsCallback.capture(), anyLong(), anyLong());
+        sendMetricsCallback.getValue().run();
+
+        ArgumentCaptor<ClientMetrics> clientMetricsArgumentCaptor =
+                ArgumentCaptor.forClass(ClientMetrics.class);
+        verify(sender).sendMetrics(clientMetricsArgumentCaptor.capture());
+        ToggleCount toggleCount =
+                clientMetricsArgumentCaptor.getValue().getBucket().getToggles().get("someToggle");
+
+        assertThat(toggleCount.getYes()).isEqualTo(40_000L);
+        assertThat(toggleCount.getNo()).isEqualTo(40_000L);
+        assertThat(toggleCount.getVariants().get("v1").longValue()).isEqualTo(80_000L);
+    }
+
+    @Test
+    public void should_count_by_slot_and_send_counts_by_name() {
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .sendMetricsInterval(10)
+                        .unleashAPI("http://unleash.com")
+                        .build();
+
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        UnleashMetricsSender sender = mock(UnleashMetricsSender.class);
+
+        MetricsLayout layout =
+                new MetricsLayout(
+                        Arrays.asList(
+                                new FeatureToggle(
+                                        "someToggle",
+                                        true,
+                                        Collections.emptyList(),
+                                        Arrays.asList(
+                                                new VariantDefinition("v1", 50, null, null),
+                                                new VariantDefinition("v2", 50, null, null))),
+                                new FeatureToggle("otherToggle", true, Collections.emptyList())));
+        MetricsLayout newerLayout =
+                new MetricsLayout(
+                        Collections.singletonList(
+                                new FeatureToggle("someToggle", true, Collections.emptyList())));
+
+        UnleashMetricService unleashMetricService =
+                new UnleashMetricServiceImpl(config, sender, executor);
+        unleashMetricService.count(layout.getSlot(0), true);
+        unleashMetricService.count(layout.getSlot(0), false);
+        unleashMetricService.countVariant(layout.getSlot(0), "v1");
+        unleashMetricService.countVariant(layout.getSlot(0), "v2");
+        unleashMetricService.countVariant(layout.getSlot(0), "disabled");
+        unleashMetricService.count("someToggle", true);
+        unleashMetricService.count(newerLayout.getSlot(0), true);
+        unleashMetricService.countVariant("someToggle", "v1");
+
+        ArgumentCaptor<Runnable> sendMetricsCallback = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).setInterval(sendMetricsCallback.capture(), anyLong(), anyLong());
+        sendMetricsCallback.getValue().run();
+
+        ArgumentCaptor<ClientMetrics> clientMetricsArgumentCaptor =
+                ArgumentCaptor.forClass(ClientMetrics.class);
+        verify(sender).sendMetrics(clientMetricsArgumentCaptor.capture());
+        MetricsBucket bucket = clientMetricsArgumentCaptor.getValue().getBucket();
+
+        assertThat(bucket.getToggles()).containsOnlyKeys("someToggle");
+        ToggleCount toggleCount = bucket.getToggles().get("someToggle");
+        assertThat(toggleCount.getYes()).isEqualTo(3L);
+        assertThat(toggleCount.getNo()).isEqualTo(1L);
+        assertThat(toggleCount.getVariants().get("v1").longValue()).isEqualTo(2L);
+        assertThat(toggleCount.getVariants().get("v2").longValue()).isEqualTo(1L);
+        assertThat(toggleCount.getVariants().get("disabled").longValue()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_not_lose_counts_when_buckets_are_sent_while_counting() throws Exception {
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .sendMetricsInterval(10)
+                        .unleashAPI("http://unleash.com")
+                        .build();
+
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        UnleashMetricsSender sender = mock(UnleashMetricsSender.class);
+
+        UnleashMetricService unleashMetricService =
+                new UnleashMetricServiceImpl(config, sender, executor);
+        ArgumentCaptor<Runnable> sendMetricsCallback = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).setInterval(sendMetricsCallback.capture(), anyLong(), anyLong());
+
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            writers.add(
+                    threads.submit(
+                            () -> {
+                                for (int j = 0; j < 100_000; j++) {
+                                    unleashMetricService.count("someToggle", true);
+                                    unleashMetricService.countVariant("someToggle", "v1");
+                                }
+                            }));
+        }
+        while (writers.stream().anyMatch(writer -> !writer.isDone())) {
+            sendMetricsCallback.getValue().run();
+        }
+        threads.shutdown();
+        sendMetricsCallback.getValue().run();
+
+        ArgumentCaptor<ClientMetrics> clientMetricsArgumentCaptor =
+                ArgumentCaptor.forClass(ClientMetrics.class);
+        verify(sender, atLeastOnce()).sendMetrics(clientMetricsArgumentCaptor.capture());
+        long yes = 0;
+        long variants = 0;
+        for (ClientMetrics metrics : clientMetricsArgumentCaptor.getAllValues()) {
+            ToggleCount toggleCount = metrics.getBucket().getToggles().get("someToggle");
+            if (toggleCount != null) {
+                yes += toggleCount.getYes();
+                Number variantCount = toggleCount.getVariants().get("v1");
+                variants += variantCount != null ? variantCount.longValue() : 0;
+            }
+        }
+
+        assertThat(yes).isEqualTo(800_000L);
+        assertThat(variants).isEqualTo(800_000L);
+    }
 }
@@ -7,6 +7,8 @@ import static org.mockito.Mockito.*;
 import io.getunleash.*;
 import io.getunleash.event.EventDispatcher;
 import io.getunleash.lang.Nullable;
+import io.getunleash.strategy.DefaultStrategy;
+import io.getunleash.util.ConstraintMerger;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
 import java.io.File;
@@ -210,6 +212,97 @@ public class FeatureRepositoryTest {
         verify(fetcher, times(0)).fetchFeatures();
     }
 
+    @Test
+    public void should_compile_evaluation_plans_once_strategies_are_registered() {
+        Segment segment =
+                new Segment(
+                        1,
+                        "some-segment",
+                        Collections.singletonList(
+                                new Constraint(
+                                        "some-context",
+                                        Operator.IN,
+                                        Collections.singletonList("some-value"))));
+        ActivationStrategy strategy =
+                new ActivationStrategy(
+                        "default",
+                        null,
+                        Collections.emptyList(),
+                        Collections.singletonList(1));
+        when(backupHandler.read())
+                .thenReturn(
+                        populatedFeatureCollection(
+                                Collections.singletonList(segment),
+                                new FeatureToggle(
+                                        "segmentedToggle",
+                                        true,
+                                        Collections.singletonList(strategy))));
+
+        FeatureRepository featureRepository =
+                new FeatureRepository(
+                        defaultConfig,
+                        backupHandler,
+                        new EventDispatcher(defaultConfig),
+                        fetcher,
+                        bootstrapHandler);
+        assertNull(featureRepository.getEvaluationPlan("segmentedToggle"));
+
+        assertTrue(featureRepository.registerStrategies(name -> new DefaultStrategy()));
+        FeatureEvaluationPlan plan = featureRepository.getEvaluationPlan("segmentedToggle");
+
+        assertFalse(featureRepository.registerStrategies(name -> DefaultUnleash.UNKNOWN_STRATEGY));
+        assertThat(featureRepository.getEvaluationPlan("segmentedToggle")).isSameAs(plan);
+        assertNotNull(plan);
+        assertThat(plan.getFeatureToggle())
+                .isSameAs(featureRepository.getToggle("segmentedToggle"));
+        assertTrue(
+                plan.isEnabled(
+                        UnleashContext.builder()
+                                .addProperty("some-context", "some-value")
+                                .build()));
+        assertFalse(
+                plan.isEnabled(
+                        UnleashContext.builder().addProperty("some-context", "other").build()));
+    }
+
+    @Test
+    public void should_merge_segment_constraints_when_collection_is_installed() {
+        Constraint strategyConstraint = new Constraint("userId", Operator.IN, "123");
+        Constraint segmentConstraint = new Constraint("environment", Operator.IN, "prod");
+        ActivationStrategy strategy =
+                new ActivationStrategy(
+                        "default",
+                        null,
+                        Collections.singletonList(strategyConstraint),
+                        Arrays.asList(1, 2));
+        when(backupHandler.read())
+                .thenReturn(
+                        populatedFeatureCollection(
+                                Collections.singletonList(
+                                        new Segment(
+                                                1,
+                                                "some-segment",
+                                                Collections.singletonList(segmentConstraint))),
+                                new FeatureToggle(
+                                        "segmentedToggle",
+                                        true,
+                                        Collections.singletonList(strategy))));
+
+        FeatureRepository featureRepository =
+                new FeatureRepository(
+                        defaultConfig,
+                        backupHandler,
+                        new EventDispatcher(defaultConfig),
+                        fetcher,
+                        bootstrapHandler);
+
+        List<Constraint> merged = featureRepository.getMergedConstraints(strategy).get();
+        assertThat(merged).containsExactly(strategyConstraint, segmentConstraint);
+        assertThat(ConstraintMerger.mergeConstraints(featureRepository, strategy)).isSameAs(merged);
+        assertThat(featureRepository.getMergedConstraints(new ActivationStrategy("default", null)))
+                .isEmpty();
+    }
+
     private FeatureCollection populatedFeatureCollection(
             @Nullable List<Segment> segments, FeatureToggle... featureToggles) {
         List<FeatureToggle> toggleList = new ArrayList<>();
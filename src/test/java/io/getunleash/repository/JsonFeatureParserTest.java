@@ -4,7 +4,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 
+import io.getunleash.ActivationStrategy;
+import io.getunleash.Constraint;
 import io.getunleash.FeatureToggle;
+import io.getunleash.Operator;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
 import java.io.*;
@@ -105,6 +108,54 @@ public class JsonFeatureParserTest {
                 .isNull();
     }
 
+    @Test
+    public void should_read_scalar_parameters_and_unknown_fields_leniently() {
+        Reader content =
+                new StringReader(
+                        "{\"version\": 2, \"query\": {\"project\": [\"default\"]},"
+                                + " \"features\": [{\"name\": \"toggle\", \"enabled\": true,"
+                                + " \"impressionData\": false, \"strategies\": [{\"name\":"
+                                + " \"flexibleRollout\", \"parameters\": {\"rollout\": 50,"
+                                + " \"sticky\": true, \"groupId\": null}, \"constraints\":"
+                                + " [{\"contextName\": \"userId\", \"operator\": \"NEW_OP\","
+                                + " \"values\": [\"1\"]}, {\"contextName\": \"version\","
+                                + " \"operator\": \"SEMVER_GT\", \"value\": \"1.2.3\"}]}]}]}");
+
+        FeatureCollection featureCollection = JsonFeatureParser.fromJson(content);
+        FeatureToggle toggle = featureCollection.getToggle("toggle");
+        ActivationStrategy strategy = toggle.getStrategies().get(0);
+        Constraint unknownOperator = strategy.getConstraints().get(0);
+        Constraint semver = strategy.getConstraints().get(1);
+
+        assertThat(toggle.getVariants()).isEmpty();
+        assertThat(strategy.getParameters())
+                .containsEntry("rollout", "50")
+                .containsEntry("sticky", "true")
+                .containsEntry("groupId", null);
+        assertThat(strategy.getSegments()).isEmpty();
+        assertThat(unknownOperator.getOperator()).isNull();
+        assertThat(unknownOperator.getValues()).containsExactly("1");
+        assertThat(semver.getOperator()).isEqualTo(Operator.SEMVER_GT);
+        assertThat(semver.getValue()).isEqualTo("1.2.3");
+        assertThat(featureCollection.getSegmentCollection().getSegments()).isEmpty();
+    }
+
+    @Test
+    public void should_read_what_it_writes() throws IOException {
+        FeatureCollection featureCollection =
+                JsonFeatureParser.fromJson(getFileReader("/features-v2-with-segments.json"));
+
+        FeatureCollection copy =
+                JsonFeatureParser.fromJson(
+                        new StringReader(JsonFeatureParser.toJsonString(featureCollection)));
+
+        assertThat(copy.getToggleCollection().getFeatures()).hasSize(5);
+        assertThat(copy.getToggle("Test.variants").getVariants()).hasSize(2);
+        assertThat(copy.getToggle("Test.variants").getStrategies().get(0).getSegments())
+                .containsExactly(1);
+        assertThat(copy.getSegment(1).getConstraints().get(0).isCaseInsensitive()).isTrue();
+    }
+
     private Reader getFileReader(String filename) throws IOException {
         InputStream in = this.getClass().getResourceAsStream(filename);
         InputStreamReader reader = new InputStreamReader(in);
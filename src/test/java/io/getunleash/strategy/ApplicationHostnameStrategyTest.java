@@ -1,8 +1,11 @@
 package io.getunleash.strategy;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.getunleash.UnleashContext;
+import io.getunleash.util.LocalHostname;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.HashMap;
@@ -42,6 +45,8 @@ public class ApplicationHostnameStrategyTest {
         System.setProperty("hostname", hostName);
 
         Strategy strategy = new ApplicationHostnameStrategy();
+        // Waits for the background lookup, which evaluations do not
+        LocalHostname.get();
 
         Map<String, String> params = new HashMap<>();
         params.put("hostNames", "MegaHost," + hostName + ",MiniHost, happyHost");
@@ -80,6 +85,8 @@ public class ApplicationHostnameStrategyTest {
         System.setProperty("hostname", hostName);
 
         Strategy strategy = new ApplicationHostnameStrategy();
+        // Waits for the background lookup, which evaluations do not
+        LocalHostname.get();
 
         Map<String, String> params = new HashMap<>();
         params.put("hostNames", "MegaHost," + hostName + ",MiniHost, happyHost");
@@ -92,6 +99,8 @@ public class ApplicationHostnameStrategyTest {
         System.setProperty("hostname", hostName);
 
         Strategy strategy = new ApplicationHostnameStrategy();
+        // Waits for the background lookup, which evaluations do not
+        LocalHostname.get();
 
         Map<String, String> params = new HashMap<>();
         params.put("hostNames", "MegaHost," + hostName + ",MiniHost, happyHost");
@@ -103,4 +112,41 @@ public class ApplicationHostnameStrategyTest {
         Strategy strategy = new ApplicationHostnameStrategy();
         assertFalse(strategy.isEnabled(new HashMap<>()));
     }
+
+    @Test
+    public void should_resolve_local_hostname_when_not_configured() throws UnknownHostException {
+        String hostName = InetAddress.getLocalHost().getHostName();
+
+        Strategy strategy = new ApplicationHostnameStrategy();
+        // Waits for the background lookup, which evaluations do not
+        LocalHostname.get();
+
+        Map<String, String> params = new HashMap<>();
+        params.put("hostNames", "MegaHost," + hostName + ",MiniHost, happyHost");
+        assertTrue(strategy.isEnabled(params));
+    }
+
+    @Test
+    public void prepared_host_names_should_agree_with_map_parameters() {
+        System.setProperty("hostname", "my-super-host");
+
+        ApplicationHostnameStrategy strategy = new ApplicationHostnameStrategy();
+        UnleashContext context = UnleashContext.builder().build();
+
+        Map<String, String> params = new HashMap<>();
+        for (String hostNames :
+                new String[] {
+                    "MegaHost,MY-SUPER-HOST, happyHost",
+                    "MegaHost, MiniHost, SuperhostOne",
+                    "my-super-host",
+                    ""
+                }) {
+            params.put("hostNames", hostNames);
+            assertEquals(
+                    strategy.isEnabled(params),
+                    strategy.isEnabled(strategy.prepare(params), context),
+                    hostNames);
+        }
+        assertFalse(strategy.isEnabled(strategy.prepare(new HashMap<>()), context));
+    }
 }
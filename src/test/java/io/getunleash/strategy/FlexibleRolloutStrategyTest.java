@@ -3,7 +3,9 @@ package io.getunleash.strategy;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.getunleash.ActivationStrategy;
 import io.getunleash.UnleashContext;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -184,4 +186,58 @@ class FlexibleRolloutStrategyTest {
         boolean enabled = strategy.isEnabled(params, context);
         assertThat(enabled).isFalse();
     }
+
+    @Test
+    public void prepared_parameters_should_agree_with_map_parameters() {
+        Supplier<String> randomGenerator = () -> "61";
+        FlexibleRolloutStrategy strategy = new FlexibleRolloutStrategy(randomGenerator);
+        String[] stickinesses = {"default", "userId", "sessionId", "random", "customField"};
+        UnleashContext[] contexts = {
+            UnleashContext.builder().build(),
+            UnleashContext.builder().userId("61").build(),
+            UnleashContext.builder().sessionId("61").build(),
+            UnleashContext.builder().addProperty("customField", "388").build(),
+            UnleashContext.builder().addProperty("customField", "402").build()
+        };
+        for (String stickiness : stickinesses) {
+            for (String rollout : new String[] {"0", "10", "50", "abc"}) {
+                Map<String, String> params = new HashMap<>();
+                params.put("rollout", rollout);
+                params.put("stickiness", stickiness);
+                params.put("groupId", "Demo");
+                CompiledStrategy compiled = compile(strategy, params);
+                for (UnleashContext context : contexts) {
+                    assertEquals(
+                            strategy.isEnabled(params, context),
+                            compiled.isEnabled(context),
+                            stickiness + "/" + rollout);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void prepared_random_stickiness_should_respect_the_rollout() {
+        FlexibleRolloutStrategy strategy = new FlexibleRolloutStrategy();
+        Map<String, String> params = new HashMap<>();
+        params.put("stickiness", "random");
+        params.put("groupId", "Demo");
+        params.put("rollout", "100");
+        CompiledStrategy always = compile(strategy, params);
+        params.put("rollout", "0");
+        CompiledStrategy never = compile(strategy, params);
+
+        UnleashContext context = UnleashContext.builder().build();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(always.isEnabled(context));
+            assertFalse(never.isEnabled(context));
+        }
+    }
+
+    private static CompiledStrategy compile(Strategy strategy, Map<String, String> params) {
+        return new CompiledStrategy(
+                new ActivationStrategy(strategy.getName(), params),
+                strategy,
+                Collections.emptyList());
+    }
 }
@@ -1,8 +1,10 @@
 package io.getunleash.strategy;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.getunleash.util.RandomSource;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -115,4 +117,27 @@ public final class GradualRolloutRandomStrategyTest {
         assertTrue(measuredPercentage >= min);
         assertTrue(measuredPercentage <= max);
     }
+
+    @Test
+    public void should_give_repeatable_results_for_a_seeded_random_source() {
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put("percentage", "50");
+        GradualRolloutRandomStrategy first =
+                new GradualRolloutRandomStrategy(RandomSource.seeded(42));
+        GradualRolloutRandomStrategy second =
+                new GradualRolloutRandomStrategy(RandomSource.seeded(42));
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.isEnabled(parameters), second.isEnabled(parameters));
+        }
+    }
+
+    @Test
+    public void should_draw_from_the_given_random_source() {
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put("percentage", "10");
+
+        assertTrue(new GradualRolloutRandomStrategy(bound -> 9).isEnabled(parameters));
+        assertFalse(new GradualRolloutRandomStrategy(bound -> 10).isEnabled(parameters));
+    }
 }
@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.common.collect.ImmutableList;
 import io.getunleash.UnleashContext;
+import io.getunleash.strategy.RemoteAddressStrategy.AddressRanges;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -91,6 +93,39 @@ class RemoteAddressStrategyTest {
         assertThat(strategy.isEnabled(parameters, context)).isEqualTo(expected);
     }
 
+    @ParameterizedTest
+    @MethodSource("data")
+    void test_all_combinations_prepared(
+            String actualIp, String parameterString, boolean expected) {
+        UnleashContext context = UnleashContext.builder().remoteAddress(actualIp).build();
+        AddressRanges prepared = strategy.prepare(setupParameterMap(parameterString));
+
+        assertThat(strategy.isEnabled(prepared, context)).isEqualTo(expected);
+    }
+
+    @Test
+    void should_match_many_prepared_ranges() {
+        List<String> ranges = new ArrayList<>();
+        for (int i = 0; i < 4096; i++) {
+            ranges.add("10." + (i >> 4) + "." + (i & 15) * 16 + ".0/28");
+            ranges.add("2001:db8:" + Integer.toHexString(i) + "::/64");
+        }
+        AddressRanges prepared = strategy.prepare(setupParameterMap(String.join(",", ranges)));
+
+        assertThat(isEnabledPrepared(prepared, "10.255.255.0")).isFalse();
+        assertThat(isEnabledPrepared(prepared, "10.255.240.15")).isTrue();
+        assertThat(isEnabledPrepared(prepared, "10.255.240.16")).isFalse();
+        assertThat(isEnabledPrepared(prepared, "10.17.32.7")).isTrue();
+        assertThat(isEnabledPrepared(prepared, "2001:db8:fff:0:1:2:3:4")).isTrue();
+        assertThat(isEnabledPrepared(prepared, "2001:db8:1000::1")).isFalse();
+        assertThat(isEnabledPrepared(prepared, "not-an-address")).isFalse();
+    }
+
+    private boolean isEnabledPrepared(AddressRanges prepared, String remoteAddress) {
+        return strategy.isEnabled(
+                prepared, UnleashContext.builder().remoteAddress(remoteAddress).build());
+    }
+
     private Map<String, String> setupParameterMap(String ipString) {
         if (ipString == null) {
             return Collections.emptyMap();
@@ -2,14 +2,18 @@ package io.getunleash.strategy;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.getunleash.ActivationStrategy;
 import io.getunleash.Constraint;
 import io.getunleash.Operator;
 import io.getunleash.UnleashContext;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 class StrategyTest {
@@ -121,4 +125,147 @@ class StrategyTest {
         boolean result = s.isEnabled(parameters, context, constraints);
         assertFalse(result);
     }
+
+    @Test
+    public void prepared_constraints_should_validate_like_the_constraints() {
+        List<Constraint> constraints = new ArrayList<>();
+        constraints.add(new Constraint("environment", Operator.IN, Arrays.asList("test", "prod")));
+        constraints.add(new Constraint("customerId", Operator.NOT_IN, Arrays.asList("red"), true));
+        constraints.add(new Constraint("age", Operator.NUM_GTE, "18"));
+        List<Constraint> prepared = ConstraintUtil.prepare(constraints);
+
+        assertEquals(constraints, prepared);
+        for (String environment : Arrays.asList("test", "dev")) {
+            for (String customerId : Arrays.asList("red", "blue")) {
+                for (String age : Arrays.asList("17", "18", "adult")) {
+                    UnleashContext context =
+                            UnleashContext.builder()
+                                    .environment(environment)
+                                    .addProperty("customerId", customerId)
+                                    .addProperty("age", age)
+                                    .build();
+                    assertEquals(
+                            ConstraintUtil.validate(constraints, context),
+                            ConstraintUtil.validate(prepared, context),
+                            environment + " " + customerId + " " + age);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void should_never_satisfy_constraints_with_unknown_operators() {
+        List<Constraint> constraints =
+                Collections.singletonList(new Constraint("userId", null, Arrays.asList("1"), true));
+        UnleashContext context = UnleashContext.builder().userId("2").build();
+
+        assertFalse(ConstraintUtil.validate(constraints, context));
+        assertFalse(ConstraintUtil.validate(ConstraintUtil.prepare(constraints), context));
+    }
+
+    @Test
+    public void should_evaluate_prepared_parameters_once_compiled() {
+        UserIdsStrategy s = new UserIdsStrategy();
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("userIds", "1,2,3");
+        List<Constraint> constraints = new ArrayList<>();
+        constraints.add(new Constraint("environment", Operator.IN, Arrays.asList("test")));
+
+        CompiledStrategy compiled =
+                new CompiledStrategy(
+                        new ActivationStrategy(s.getName(), parameters), s, constraints);
+
+        assertEquals(1, s.prepared);
+        assertTrue(
+                compiled.isEnabled(
+                        UnleashContext.builder().environment("test").userId("2").build()));
+        assertFalse(
+                compiled.isEnabled(
+                        UnleashContext.builder().environment("test").userId("4").build()));
+        assertFalse(
+                compiled.isEnabled(
+                        UnleashContext.builder().environment("prod").userId("2").build()));
+        assertEquals(1, s.prepared);
+    }
+
+    @Test
+    public void should_evaluate_parameter_map_when_preparing_fails() {
+        UserIdsStrategy s =
+                new UserIdsStrategy() {
+                    @Override
+                    public Set<String> prepare(Map<String, String> parameters) {
+                        throw new IllegalArgumentException("broken parameters");
+                    }
+                };
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("userIds", "1,2,3");
+
+        CompiledStrategy compiled =
+                new CompiledStrategy(
+                        new ActivationStrategy(s.getName(), parameters),
+                        s,
+                        Collections.emptyList());
+
+        assertTrue(compiled.isEnabled(UnleashContext.builder().userId("2").build()));
+    }
+
+    @Test
+    public void should_not_prepare_parameters_when_validation_is_overridden() {
+        UserIdsStrategy s =
+                new UserIdsStrategy() {
+                    @Override
+                    public boolean isEnabled(
+                            Map<String, String> parameters,
+                            UnleashContext unleashContext,
+                            List<Constraint> constraints) {
+                        return true;
+                    }
+                };
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("userIds", "1,2,3");
+        List<Constraint> constraints = new ArrayList<>();
+        constraints.add(new Constraint("environment", Operator.IN, Arrays.asList("test")));
+
+        CompiledStrategy compiled =
+                new CompiledStrategy(
+                        new ActivationStrategy(s.getName(), parameters), s, constraints);
+
+        assertEquals(0, s.prepared);
+        assertTrue(
+                compiled.isEnabled(
+                        UnleashContext.builder().environment("prod").userId("4").build()));
+    }
+
+    private static class UserIdsStrategy implements PreparedStrategy<Set<String>> {
+        int prepared;
+
+        @Override
+        public String getName() {
+            return "userIds";
+        }
+
+        @Override
+        public boolean isEnabled(Map<String, String> parameters) {
+            return false;
+        }
+
+        @Override
+        public boolean isEnabled(Map<String, String> parameters, UnleashContext unleashContext) {
+            return unleashContext
+                    .getUserId()
+                    .map(Arrays.asList(parameters.get("userIds").split(","))::contains)
+                    .orElse(false);
+        }
+
+        @Override
+        public Set<String> prepare(Map<String, String> parameters) {
+            prepared++;
+            return new HashSet<>(Arrays.asList(parameters.get("userIds").split(",")));
+        }
+
+        @Override
+        public boolean isEnabled(Set<String> userIds, UnleashContext unleashContext) {
+            return unleashContext.getUserId().map(userIds::contains).orElse(false);
+        }
+    }
 }
@@ -2,6 +2,8 @@ package io.getunleash.strategy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 public class StrategyUtilsTest {
@@ -10,5 +12,53 @@ public class StrategyUtilsTest {
     public void normalized_values_are_the_same_across_node_java_and_go_clients() {
         assertEquals(73, StrategyUtils.getNormalizedNumber("123", "gr1"));
         assertEquals(25, StrategyUtils.getNormalizedNumber("999", "groupX"));
+        assertEquals(73, StrategyUtils.prefixOf("gr1").getNormalizedNumber("123"));
+        assertEquals(25, StrategyUtils.prefixOf("groupX").getNormalizedNumber("999"));
+    }
+
+    @Test
+    public void normalized_values_match_murmur_over_utf8_bytes() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            String groupId = randomString(random);
+            String identifier = randomString(random);
+            int normalizer = 1 + random.nextInt(10_000);
+            byte[] bytes = (groupId + ':' + identifier).getBytes(StandardCharsets.UTF_8);
+            int expected =
+                    (int) (com.sangupta.murmur.Murmur3.hash_x86_32(bytes, bytes.length, 0)
+                                    % normalizer)
+                            + 1;
+
+            assertEquals(
+                    expected, StrategyUtils.getNormalizedNumber(identifier, groupId, normalizer));
+            assertEquals(
+                    expected,
+                    StrategyUtils.prefixOf(groupId).getNormalizedNumber(identifier, normalizer));
+        }
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(6)) {
+                case 0:
+                    builder.append((char) (0x80 + random.nextInt(0x780)));
+                    break;
+                case 1:
+                    builder.append((char) (0x800 + random.nextInt(0xd000)));
+                    break;
+                case 2:
+                    builder.appendCodePoint(0x10000 + random.nextInt(0x100000));
+                    break;
+                case 3:
+                    // Unpaired surrogate
+                    builder.append((char) (0xd800 + random.nextInt(0x800)));
+                    break;
+                default:
+                    builder.append((char) random.nextInt(0x80));
+            }
+        }
+        return builder.toString();
     }
 }
@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import io.getunleash.UnleashContext;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -115,4 +116,36 @@ public class UserWithIdStrategyTest {
 
         assertFalse(strategy.isEnabled(parameters));
     }
+
+    @Test
+    public void should_match_prepared_userIds() {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(strategy.PARAM, "123, 122,121");
+        Set<String> prepared = strategy.prepare(parameters);
+
+        assertTrue(strategy.isEnabled(prepared, UnleashContext.builder().userId("122").build()));
+        assertTrue(strategy.isEnabled(prepared, UnleashContext.builder().userId("121").build()));
+        assertFalse(strategy.isEnabled(prepared, UnleashContext.builder().userId("12").build()));
+        assertFalse(strategy.isEnabled(prepared, UnleashContext.builder().build()));
+        assertFalse(
+                strategy.isEnabled(
+                        strategy.prepare(new HashMap<>()),
+                        UnleashContext.builder().userId("123").build()));
+    }
+
+    @Test
+    public void should_match_large_prepared_list_of_userIds() {
+        StringBuilder userIds = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            userIds.append(i == 0 ? "" : i % 2 == 0 ? ", " : ",").append(i * 3);
+        }
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(strategy.PARAM, userIds.toString());
+        Set<String> prepared = strategy.prepare(parameters);
+
+        for (int i = 0; i < 60_000; i++) {
+            UnleashContext context = UnleashContext.builder().userId(String.valueOf(i)).build();
+            assertThat(strategy.isEnabled(prepared, context)).isEqualTo(i % 3 == 0);
+        }
+    }
 }
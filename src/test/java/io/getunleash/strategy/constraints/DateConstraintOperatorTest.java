@@ -168,4 +168,56 @@ class DateConstraintOperatorTest {
                         .build();
         assertThat(strategy.isEnabled(parameters, context, c)).isFalse();
     }
+
+    @Test
+    public void comparesInstantsAcrossOffsetsAndFractions() {
+        PreparedConstraint after =
+                new DateConstraintOperator()
+                        .prepare(
+                                new Constraint(
+                                        "currentTime",
+                                        Operator.DATE_AFTER,
+                                        "2022-01-29T13:00:00.000000500Z"));
+        assertThat(after.evaluate(contextAt("2022-01-29T14:00:00.0000005+01:00"))).isFalse();
+        assertThat(after.evaluate(contextAt("2022-01-29T14:00:00.000000501+01:00"))).isTrue();
+        assertThat(after.evaluate(contextAt("2022-01-29T12:00:01-01:00"))).isTrue();
+        assertThat(after.evaluate(contextAt("2022-01-29T13:00:00.000000500Z[UTC]"))).isFalse();
+    }
+
+    @Test
+    public void invalidContextDateIsTreatedAsTheCurrentTime() {
+        PreparedConstraint before =
+                new DateConstraintOperator()
+                        .prepare(
+                                new Constraint(
+                                        "releaseDate",
+                                        Operator.DATE_BEFORE,
+                                        "2022-01-29T13:00:00.000Z"));
+        UnleashContext context =
+                UnleashContext.builder()
+                        .currentTime(ZonedDateTime.parse("2022-01-01T00:00:00Z"))
+                        .addProperty("releaseDate", "next tuesday")
+                        .build();
+        assertThat(before.evaluate(context)).isTrue();
+    }
+
+    @Test
+    public void invalidConstraintDateNeverMatches() {
+        DateConstraintOperator operator = new DateConstraintOperator();
+        UnleashContext context = contextAt("2022-01-29T13:00:00Z");
+        assertThat(
+                        operator.prepare(new Constraint("currentTime", Operator.DATE_AFTER, "soon"))
+                                .evaluate(context))
+                .isFalse();
+        assertThat(
+                        operator.prepare(
+                                        new Constraint(
+                                                "currentTime", Operator.DATE_AFTER, "soon", true))
+                                .evaluate(context))
+                .isTrue();
+    }
+
+    private static UnleashContext contextAt(String currentTime) {
+        return UnleashContext.builder().addProperty("currentTime", currentTime).build();
+    }
 }
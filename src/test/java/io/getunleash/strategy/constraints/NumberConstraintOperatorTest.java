@@ -7,6 +7,7 @@ import io.getunleash.Operator;
 import io.getunleash.UnleashContext;
 import io.getunleash.strategy.DefaultStrategy;
 import io.getunleash.strategy.Strategy;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -195,4 +196,20 @@ class NumberConstraintOperatorTest {
                 UnleashContext.builder().environment("dev").addProperty("userAge", "35").build();
         assertThat(strategy.isEnabled(parameters, disabled, constraintList)).isTrue();
     }
+
+    @Test
+    public void shouldIgnoreValuesWhichAreNotNumbers() {
+        Strategy strategy = new DefaultStrategy();
+        List<Constraint> constraintList =
+                Collections.singletonList(
+                        new Constraint(
+                                "userAge", Operator.NUM_LT, Arrays.asList("ten", "18", "")));
+        Map<String, String> parameters = new HashMap<>();
+        UnleashContext young =
+                UnleashContext.builder().environment("dev").addProperty("userAge", "17").build();
+        assertThat(strategy.isEnabled(parameters, young, constraintList)).isTrue();
+        UnleashContext invalid =
+                UnleashContext.builder().environment("dev").addProperty("userAge", "-").build();
+        assertThat(strategy.isEnabled(parameters, invalid, constraintList)).isFalse();
+    }
 }
@@ -0,0 +1,53 @@
+package io.getunleash.strategy.constraints;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class NumberParserTest {
+
+    @Test
+    public void shouldReadNumbersLikeParseDouble() {
+        String[] numbers = {
+            "42", "-42", "+0", "-0", "0.0", "3.14159", " 2.5 ", ".5", "5.", "1e3", "1E-3", "1e+3",
+            "1.5f", "2d", "0x1p3", "-0x1.8P-2", "NaN", "-NaN", "Infinity", "-Infinity",
+            "9007199254740993", "123456789012345678901234567890", "1e400", "4.9e-324",
+            "2.2250738585072012e-308", "0.000000000000000000000000000001234"
+        };
+        for (String number : numbers) {
+            assertThat(Double.doubleToRawLongBits(NumberParser.parseDouble(number)))
+                    .as(number)
+                    .isEqualTo(Double.doubleToRawLongBits(Double.parseDouble(number)));
+        }
+        assertThat(NumberParser.isNaN(" -NaN")).isTrue();
+    }
+
+    @Test
+    public void shouldReturnNaNForTextWhichIsNotANumber() {
+        String[] texts = {
+            "", " ", "-", ".", "e5", "1e", "1e+", "1.2.3", "1_000", "0x", "0x1", "0xp1", "Inf",
+            "Infinityx", "nan", "42abc", "\u0661", "1,5"
+        };
+        for (String text : texts) {
+            assertThat(NumberParser.parseDouble(text)).as(text).isNaN();
+            assertThat(NumberParser.isNaN(text)).as(text).isFalse();
+        }
+    }
+
+    @Test
+    public void shouldRoundTripRandomDoubles() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            assertThat(NumberParser.parseDouble(Double.toString(value))).isEqualTo(value);
+            String decimal =
+                    String.format(Locale.ROOT, "%." + random.nextInt(18) + "f", value % 1e9);
+            assertThat(NumberParser.parseDouble(decimal)).isEqualTo(Double.parseDouble(decimal));
+        }
+    }
+}
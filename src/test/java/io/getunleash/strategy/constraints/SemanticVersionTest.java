@@ -1,6 +1,7 @@
 package io.getunleash.strategy.constraints;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
@@ -45,4 +46,41 @@ class SemanticVersionTest {
         assertThat(alpha.compareTo(alpha2)).isLessThan(0);
         assertThat(alpha).isLessThan(alpha2);
     }
+
+    @Test
+    public void rejectsVersionsOutsideTheGrammar() {
+        String[] invalid = {
+            "", "1.2", "01.2.3", "1.02.3", "1.2.3.4", "1.2.3-", "1.2.3+", "1.2.3-a+b+c", "v1.2.3",
+            "1.2.3-a_b", "2147483648.0.0", "1.2.3\n"
+        };
+        for (String version : invalid) {
+            assertThatThrownBy(() -> SemanticVersion.parse(version))
+                    .as(version)
+                    .isInstanceOf(SemanticVersion.InvalidVersionException.class);
+        }
+    }
+
+    @Test
+    public void readsAllPartsOfAVersion() throws SemanticVersion.InvalidVersionException {
+        SemanticVersion version = SemanticVersion.parse("10.20.30-rc.1--x..y+build.7");
+        assertThat(version.getMajor()).isEqualTo(10);
+        assertThat(version.getMinor()).isEqualTo(20);
+        assertThat(version.getPatch()).isEqualTo(30);
+        assertThat(version.getPreRelease()).isEqualTo("rc.1--x..y");
+        assertThat(version.getBuild()).isEqualTo("build.7");
+
+        SemanticVersion shortVersion = SemanticVersion.parse("3-beta", true);
+        assertThat(shortVersion.getMinor()).isZero();
+        assertThat(shortVersion.getPatch()).isZero();
+        assertThat(shortVersion.getPreRelease()).isEqualTo("beta");
+    }
+
+    @Test
+    public void comparesNumericPreReleaseIdentifiersNumerically()
+            throws SemanticVersion.InvalidVersionException {
+        assertThat(SemanticVersion.parse("1.0.0-alpha.10"))
+                .isGreaterThan(SemanticVersion.parse("1.0.0-alpha.9"));
+        assertThat(SemanticVersion.parse("1.0.0-alpha.1"))
+                .isLessThan(SemanticVersion.parse("1.0.0-alpha.beta"));
+    }
 }
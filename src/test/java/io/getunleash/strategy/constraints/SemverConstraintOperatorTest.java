@@ -144,4 +144,30 @@ class SemverConstraintOperatorTest {
                 UnleashContext.builder().environment("dev").addProperty("version", "3.2.4").build();
         assertThat(strategy.isEnabled(parameters, moreThanRange, constraintList)).isFalse();
     }
+
+    @Test
+    public void shouldEvaluateVersionsBeyondTheCachedOnes() {
+        PreparedConstraint constraint =
+                new SemverConstraintOperator()
+                        .prepare(new Constraint("version", Operator.SEMVER_GT, "1.50.0"));
+        for (int round = 0; round < 3; round++) {
+            for (int minor = 0; minor < 200; minor++) {
+                String version = "1." + minor + ".0";
+                UnleashContext ctx =
+                        UnleashContext.builder().addProperty("version", version).build();
+                assertThat(constraint.evaluate(ctx)).as(version).isEqualTo(minor > 50);
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotMatchInvalidContextVersionsRepeatedly() {
+        PreparedConstraint constraint =
+                new SemverConstraintOperator()
+                        .prepare(new Constraint("version", Operator.SEMVER_LT, "2.0.0"));
+        UnleashContext ctx = UnleashContext.builder().addProperty("version", "1.2").build();
+        for (int i = 0; i < 3; i++) {
+            assertThat(constraint.evaluate(ctx)).isFalse();
+        }
+    }
 }
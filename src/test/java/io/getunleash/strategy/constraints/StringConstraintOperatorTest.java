@@ -7,10 +7,12 @@ import io.getunleash.Operator;
 import io.getunleash.UnleashContext;
 import io.getunleash.strategy.DefaultStrategy;
 import io.getunleash.strategy.Strategy;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -211,4 +213,133 @@ class StringConstraintOperatorTest {
                         .build();
         assertThat(strategy.isEnabled(parameters, ctx, constraintList)).isFalse();
     }
+
+    @Test
+    public void shouldLookUpTenantAmongManyValuesIgnoringCase() {
+        List<String> tenants = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            tenants.add("Tenant-" + i);
+        }
+        PreparedConstraint in =
+                new StringConstraintOperator(Locale.ROOT)
+                        .prepare(new Constraint("tenant", Operator.IN, tenants, false, true));
+        PreparedConstraint notIn =
+                new StringConstraintOperator(Locale.ROOT)
+                        .prepare(new Constraint("tenant", Operator.NOT_IN, tenants, false, true));
+
+        UnleashContext known = UnleashContext.builder().addProperty("tenant", "TENANT-42").build();
+        UnleashContext unknown =
+                UnleashContext.builder().addProperty("tenant", "tenant-10000").build();
+        UnleashContext missing = UnleashContext.builder().build();
+        assertThat(in.evaluate(known)).isTrue();
+        assertThat(in.evaluate(unknown)).isFalse();
+        assertThat(in.evaluate(missing)).isFalse();
+        assertThat(notIn.evaluate(known)).isFalse();
+        assertThat(notIn.evaluate(unknown)).isTrue();
+        assertThat(notIn.evaluate(missing)).isTrue();
+    }
+
+    @Test
+    public void shouldFoldCaseLikeEqualsIgnoreCase() {
+        for (String[] pair :
+                new String[][] {
+                    {"straße", "STRASSE"},
+                    {"\u0131", "I"},
+                    {"\u03c2", "\u03a3"},
+                    {"K", "\u212a"},
+                    {"Ab", "aB"}
+                }) {
+            assertThat(
+                            StringConstraintOperator.foldCase(pair[0])
+                                    .equals(StringConstraintOperator.foldCase(pair[1])))
+                    .as(pair[0] + " " + pair[1])
+                    .isEqualTo(pair[0].equalsIgnoreCase(pair[1]));
+        }
+    }
+
+    @Test
+    public void shouldBeEnabledWhenEmailStartsWithIgnoringCase() {
+        Strategy strategy = new DefaultStrategy();
+        List<Constraint> constraintList =
+                Collections.singletonList(
+                        new Constraint(
+                                "email",
+                                Operator.STR_STARTS_WITH,
+                                Collections.singletonList("EXAMPLE"),
+                                false,
+                                true));
+        UnleashContext ctx =
+                UnleashContext.builder()
+                        .environment("dev")
+                        .addProperty("email", "Example@getunleash.ai")
+                        .build();
+        assertThat(strategy.isEnabled(new HashMap<>(), ctx, constraintList)).isTrue();
+
+        UnleashContext prefixOnly =
+                UnleashContext.builder().environment("dev").addProperty("email", "ex").build();
+        assertThat(strategy.isEnabled(new HashMap<>(), prefixOnly, constraintList)).isFalse();
+    }
+
+    @Test
+    public void shouldMatchAgainstManyPatterns() {
+        List<String> agents = new ArrayList<>();
+        List<String> domains = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            agents.add("Bot/" + i + ".");
+            domains.add("@Tenant" + i + ".example");
+        }
+        StringConstraintOperator operator = new StringConstraintOperator(Locale.ROOT);
+        PreparedConstraint contains =
+                operator.prepare(
+                        new Constraint("agent", Operator.STR_CONTAINS, agents, false, true));
+        PreparedConstraint startsWith =
+                operator.prepare(new Constraint("agent", Operator.STR_STARTS_WITH, agents));
+        PreparedConstraint endsWith =
+                operator.prepare(
+                        new Constraint("email", Operator.STR_ENDS_WITH, domains, false, true));
+
+        UnleashContext ctx =
+                UnleashContext.builder()
+                        .addProperty("agent", "Mozilla/5.0 (compatible; bot/42.1)")
+                        .addProperty("email", "someone@tenant499.EXAMPLE")
+                        .build();
+        assertThat(contains.evaluate(ctx)).isTrue();
+        assertThat(startsWith.evaluate(ctx)).isFalse();
+        assertThat(endsWith.evaluate(ctx)).isTrue();
+
+        UnleashContext other =
+                UnleashContext.builder()
+                        .addProperty("agent", "Bot/7.1")
+                        .addProperty("email", "someone@tenant500.example")
+                        .build();
+        assertThat(contains.evaluate(other)).isTrue();
+        assertThat(startsWith.evaluate(other)).isTrue();
+        assertThat(endsWith.evaluate(other)).isFalse();
+    }
+
+    @Test
+    public void shouldEvaluateUnpreparedConstraintsLikePreparedOnes() {
+        List<String> values = Arrays.asList("Alpha", "beta", "GAMMA", "delta", "eps", "zeta");
+        StringConstraintOperator operator = new StringConstraintOperator(Locale.ROOT);
+        String[] contextValues = {"alpha", "Beta-1", "x-gamma", "delta", "EPSILON", "other"};
+        for (Operator op :
+                Arrays.asList(
+                        Operator.IN,
+                        Operator.NOT_IN,
+                        Operator.STR_CONTAINS,
+                        Operator.STR_STARTS_WITH,
+                        Operator.STR_ENDS_WITH)) {
+            for (boolean caseInsensitive : new boolean[] {false, true}) {
+                Constraint constraint = new Constraint("name", op, values, false, caseInsensitive);
+                PreparedConstraint prepared = operator.prepare(constraint);
+                for (String contextValue : contextValues) {
+                    UnleashContext ctx =
+                            UnleashContext.builder().addProperty("name", contextValue).build();
+                    assertThat(operator.evaluate(constraint, ctx))
+                            .as(op + " " + caseInsensitive + " " + contextValue)
+                            .isEqualTo(prepared.evaluate(ctx));
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package io.getunleash.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class IpAddressLiteralTest {
+    private final long[] words = new long[2];
+
+    @Test
+    void parsesIpv4Addresses() {
+        assertThat(IpAddressLiteral.parse("192.168.1.104", words)).isEqualTo(IpAddressLiteral.IPV4);
+        assertThat(words).containsExactly(0L, 0xc0a80168L);
+        assertThat(IpAddressLiteral.parse("255.255.255.255", words))
+                .isEqualTo(IpAddressLiteral.IPV4);
+        assertThat(words).containsExactly(0L, 0xffffffffL);
+    }
+
+    @Test
+    void parsesIpv6Addresses() {
+        assertThat(IpAddressLiteral.parse("2001:DB8:0:0:0:0:0:1", words))
+                .isEqualTo(IpAddressLiteral.IPV6);
+        assertThat(words).containsExactly(0x20010db800000000L, 1L);
+        assertThat(IpAddressLiteral.parse("2001:db8::1", words)).isEqualTo(IpAddressLiteral.IPV6);
+        assertThat(words).containsExactly(0x20010db800000000L, 1L);
+        assertThat(IpAddressLiteral.parse("fe80::21f:5bff:fe33:bd68%eth0", words))
+                .isEqualTo(IpAddressLiteral.IPV6);
+        assertThat(words).containsExactly(0xfe80000000000000L, 0x021f5bfffe33bd68L);
+        assertThat(IpAddressLiteral.parse("[::1]", words)).isEqualTo(IpAddressLiteral.IPV6);
+        assertThat(words).containsExactly(0L, 1L);
+        assertThat(IpAddressLiteral.parse("1:2:3:4:5:6:7::", words))
+                .isEqualTo(IpAddressLiteral.IPV6);
+        assertThat(words).containsExactly(0x0001000200030004L, 0x0005000600070000L);
+        assertThat(IpAddressLiteral.parse("::2:3:4:5:6:7:8", words))
+                .isEqualTo(IpAddressLiteral.IPV6);
+        assertThat(words).containsExactly(0x0000000200030004L, 0x0005000600070008L);
+        assertThat(IpAddressLiteral.parse("64:ff9b::192.0.2.33", words))
+                .isEqualTo(IpAddressLiteral.IPV6);
+        assertThat(words).containsExactly(0x0064ff9b00000000L, 0xc0000221L);
+    }
+
+    @Test
+    void reportsIpv4MappedAddressesAsIpv4() {
+        assertThat(IpAddressLiteral.parse("::ffff:10.0.0.1", words))
+                .isEqualTo(IpAddressLiteral.IPV4);
+        assertThat(words).containsExactly(0L, 0x0a000001L);
+    }
+
+    @Test
+    void rejectsEverythingButLiterals() {
+        String[] invalid = {
+            "",
+            "localhost",
+            "256.0.0.1",
+            "1.2.3",
+            "1.2.3.4.5",
+            "1..2.3",
+            "1.2.3.4.",
+            ":",
+            ":::",
+            ":1::2",
+            "1::2::3",
+            "1:2:3:4:5:6:7",
+            "1:2:3:4:5:6:7:8:9",
+            "1:2:3:4::5:6:7:8",
+            "12345::1",
+            "fe80::1%",
+            "::ffff:10.0.0"
+        };
+        for (String address : invalid) {
+            assertThat(IpAddressLiteral.parse(address, words))
+                    .as(address)
+                    .isEqualTo(IpAddressLiteral.INVALID);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package io.getunleash.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.jupiter.api.Test;
 
@@ -84,4 +85,32 @@ class IpAddressMatcherTest {
         assertThat(matcher.matches("123.4.5.6")).isTrue();
         assertThat(matcher.matches("192.168.0.159")).isTrue();
     }
+
+    @Test
+    void doesNotResolveHostNamesToMatch() {
+        assertThat(new IpAddressMatcher("127.0.0.1").matches("localhost")).isFalse();
+        assertThat(v4matcher.matches("192.168.1")).isFalse();
+        assertThat(v6matcher.matches("fe80::21f:5bff:fe33:bd68:")).isFalse();
+    }
+
+    @Test
+    void matchesScopedAndBracketedIpv6Addresses() {
+        assertThat(v6matcher.matches("fe80::21f:5bff:fe33:bd68%eth0")).isTrue();
+        assertThat(v6matcher.matches("[fe80::21f:5bff:fe33:bd68]")).isTrue();
+    }
+
+    @Test
+    void ipv4MappedIpv6AddressMatchesIpv4Subnet() {
+        IpAddressMatcher matcher = new IpAddressMatcher("10.0.0.0/8");
+        assertThat(matcher.matches("::ffff:10.1.2.3")).isTrue();
+        assertThat(matcher.matches("::ffff:11.1.2.3")).isFalse();
+    }
+
+    @Test
+    void rejectsMaskLongerThanAddress() {
+        assertThatThrownBy(() -> new IpAddressMatcher("192.168.1.0/33"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IpAddressMatcher("2001:DB8::/129"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
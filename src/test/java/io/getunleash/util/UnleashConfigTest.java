@@ -54,6 +54,18 @@ public class UnleashConfigTest {
         assertThat(config.getUnleashAPI()).isEqualTo(URI.create("http://unleash.org"));
     }
 
+    @Test
+    public void should_resolve_default_instance_id_once() {
+        System.getProperties().remove("hostname");
+        UnleashConfig config =
+                UnleashConfig.builder().appName("my-app").unleashAPI("http://unleash.org").build();
+
+        String instanceId = config.getInstanceId();
+
+        assertThat(instanceId).contains("-generated-");
+        assertThat(config.getInstanceId()).isSameAs(instanceId);
+    }
+
     @Test
     public void should_generate_backupfile() {
         UnleashConfig config =
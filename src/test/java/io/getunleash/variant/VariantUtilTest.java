@@ -9,6 +9,7 @@ import io.getunleash.ActivationStrategy;
 import io.getunleash.FeatureToggle;
 import io.getunleash.UnleashContext;
 import io.getunleash.Variant;
+import io.getunleash.util.RandomSource;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
 import java.util.Collections;
@@ -243,4 +244,88 @@ public class VariantUtilTest {
                         (Consumer<Variant>)
                                 variant -> assertThat(variant.getName()).isEqualTo(v3.getName()));
     }
+
+    @Test
+    public void should_select_same_variants_for_anonymous_contexts_with_seeded_random_source() {
+        VariantDefinition v1 = new VariantDefinition("a", 33);
+        VariantDefinition v2 = new VariantDefinition("b", 33);
+        VariantDefinition v3 = new VariantDefinition("c", 34);
+        FeatureToggle toggle =
+                new FeatureToggle(
+                        "test.variants", true, asList(defaultStrategy), asList(v1, v2, v3));
+        UnleashContext context = UnleashContext.builder().build();
+
+        RandomSource first = RandomSource.seeded(7);
+        RandomSource second = RandomSource.seeded(7);
+        List<String> firstNames =
+                IntStream.range(0, 100)
+                        .mapToObj(
+                                i ->
+                                        VariantUtil.selectVariant(
+                                                        toggle, context, DISABLED_VARIANT, first)
+                                                .getName())
+                        .collect(Collectors.toList());
+        List<String> secondNames =
+                IntStream.range(0, 100)
+                        .mapToObj(
+                                i ->
+                                        VariantUtil.selectVariant(
+                                                        toggle, context, DISABLED_VARIANT, second)
+                                                .getName())
+                        .collect(Collectors.toList());
+
+        assertThat(firstNames).isEqualTo(secondNames).contains("a", "b", "c");
+    }
+    @Test
+    public void should_select_same_variants_when_prepared() {
+        VariantDefinition v1 = new VariantDefinition("a", 10);
+        VariantDefinition v2 = new VariantDefinition("b", 0);
+        VariantDefinition v3 = new VariantDefinition("c", 40);
+        VariantDefinition v4 = new VariantDefinition("d", 50);
+        FeatureToggle toggle =
+                new FeatureToggle(
+                        "test.variants", true, asList(defaultStrategy), asList(v1, v2, v3, v4));
+        PreparedVariants prepared = VariantUtil.prepare(toggle);
+
+        for (int i = 0; i < 1000; i++) {
+            UnleashContext context = UnleashContext.builder().userId(Integer.toString(i)).build();
+            assertThat(
+                            VariantUtil.selectVariant(
+                                    prepared, context, DISABLED_VARIANT, RandomSource.THREAD_LOCAL))
+                    .isEqualTo(VariantUtil.selectVariant(toggle, context, DISABLED_VARIANT));
+        }
+    }
+
+    @Test
+    public void should_return_first_variant_with_matching_override_when_prepared() {
+        VariantOverride sessionOverride = new VariantOverride("sessionId", asList("s1"));
+        VariantOverride envOverride = new VariantOverride("env", asList("dev", ""));
+        VariantOverride userOverride = new VariantOverride("userId", asList("u1"));
+        VariantDefinition v1 = new VariantDefinition("a", 33, null, asList(sessionOverride));
+        VariantDefinition v2 = new VariantDefinition("b", 33, null, asList(envOverride));
+        VariantDefinition v3 = new VariantDefinition("c", 34, null, asList(userOverride));
+        FeatureToggle toggle =
+                new FeatureToggle(
+                        "test.variants", true, asList(defaultStrategy), asList(v1, v2, v3));
+        PreparedVariants prepared = VariantUtil.prepare(toggle);
+
+        UnleashContext both =
+                UnleashContext.builder()
+                        .userId("u1")
+                        .sessionId("s1")
+                        .addProperty("env", "prod")
+                        .build();
+        UnleashContext user =
+                UnleashContext.builder().userId("u1").addProperty("env", "prod").build();
+        // An override listing the empty string matches contexts without the field
+        UnleashContext noEnv = UnleashContext.builder().userId("u1").build();
+
+        RandomSource random = RandomSource.THREAD_LOCAL;
+        assertThat(VariantUtil.selectVariant(prepared, both, DISABLED_VARIANT, random).getName())
+                .isEqualTo("a");
+        assertThat(VariantUtil.selectVariant(prepared, user, DISABLED_VARIANT, random).getName())
+                .isEqualTo("c");
+        assertThat(VariantUtil.selectVariant(prepared, noEnv, DISABLED_VARIANT, random).getName())
+                .isEqualTo("b");
+    }
 }